@@ -0,0 +1,24 @@
+package com.example.taskmanagerment.loadtest;
+
+import java.util.SplittableRandom;
+
+// Gap between consecutive request arrivals at a target rate. The schedule does not depend on
+// responses (open model), so a slow server is not rewarded with fewer requests.
+public enum Arrivals {
+    // Evenly spaced arrivals
+    CONSTANT {
+        @Override
+        long nextGapNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(1e9 / ratePerSecond);
+        }
+    },
+    // Exponentially distributed gaps: independent clients arriving at random
+    POISSON {
+        @Override
+        long nextGapNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(-Math.log(1.0 - random.nextDouble()) / ratePerSecond * 1e9);
+        }
+    };
+
+    abstract long nextGapNanos(double ratePerSecond, SplittableRandom random);
+}
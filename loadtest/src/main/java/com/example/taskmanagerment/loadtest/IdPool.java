@@ -0,0 +1,39 @@
+package com.example.taskmanagerment.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ids of tasks the generator created and has not deleted; get/update target a random member and
+// delete takes one out, so concurrent requests never delete the same task twice
+final class IdPool {
+
+    private long[] ids = new long[1024];
+    private int size;
+
+    synchronized void add(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    // A random id, or -1 when empty
+    synchronized long pick() {
+        return size == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    // Removes and returns a random id, or -1 when empty
+    synchronized long take() {
+        if (size == 0) {
+            return -1;
+        }
+        int index = ThreadLocalRandom.current().nextInt(size);
+        long id = ids[index];
+        ids[index] = ids[--size];
+        return id;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
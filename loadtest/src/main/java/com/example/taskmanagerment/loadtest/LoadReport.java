@@ -0,0 +1,80 @@
+package com.example.taskmanagerment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Plain-text report with a fixed layout and no timestamps, so two runs can be compared with diff.
+// Also writes each operation's full percentile distribution as <operation>.hgrm for plotting.
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadReport() {
+    }
+
+    static String format(LoadTestConfig config, List<OperationResult> results) {
+        double seconds = config.duration().toNanos() / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append("# Task API load test. Latency: 2xx responses only, from intended send time to response, in ms.\n");
+        line(report, "%-12s %s%n", "base-url", config.baseUrl());
+        line(report, "%-12s %.1f/s %s%n", "rate", config.rate(), config.arrivals().name().toLowerCase(Locale.ROOT));
+        line(report, "%-12s %s%n", "warmup", config.warmup());
+        line(report, "%-12s %s%n", "duration", config.duration());
+        line(report, "%-12s %s%n", "mix", config.mix());
+        line(report, "%-12s %d%n", "seed", config.seed());
+        report.append('\n');
+
+        line(report, "%-10s %9s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "ok/s", "ok", "errors", "dropped", "p50", "p90", "p99", "p99.9", "max");
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        long allDropped = 0;
+        for (OperationResult result : results) {
+            row(report, result.operation().key(), result.latencies(), result.errorCount(), result.dropped(), seconds);
+            all.add(result.latencies());
+            allErrors += result.errorCount();
+            allDropped += result.dropped();
+        }
+        row(report, "all", all, allErrors, allDropped, seconds);
+
+        if (allErrors > 0) {
+            report.append("\nerrors\n");
+            for (OperationResult result : results) {
+                for (Map.Entry<String, Long> error : result.errors().entrySet()) {
+                    line(report, "%-10s %-24s %d%n", result.operation().key(), error.getKey(), error.getValue());
+                }
+            }
+        }
+        return report.toString();
+    }
+
+    static void write(Path directory, String report, List<OperationResult> results) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("report.txt"), report);
+        for (OperationResult result : results) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(result.operation().key() + ".hgrm")))) {
+                result.latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void row(StringBuilder report, String name, Histogram latencies, long errors, long dropped, double seconds) {
+        line(report, "%-10s %9.1f %9d %7d %8d", name, latencies.getTotalCount() / seconds, latencies.getTotalCount(), errors, dropped);
+        for (double percentile : PERCENTILES) {
+            line(report, " %9.2f", latencies.getValueAtPercentile(percentile) / 1000.0);
+        }
+        line(report, " %9.2f%n", latencies.getMaxValue() / 1000.0);
+    }
+
+    // Locale.ROOT keeps the decimal separator stable across machines
+    private static void line(StringBuilder report, String format, Object... args) {
+        report.append(String.format(Locale.ROOT, format, args));
+    }
+}
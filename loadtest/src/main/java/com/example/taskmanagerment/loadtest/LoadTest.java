@@ -0,0 +1,63 @@
+package com.example.taskmanagerment.loadtest;
+
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+// Entry point: seeds tasks, runs the open-model load and prints/writes the report.
+// ./mvnw -f loadtest/pom.xml compile exec:exec -Dloadtest.args="--rate=500 --duration=PT2M"
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        IdPool ids = new IdPool();
+        TaskApi api = new TaskApi(client, config.baseUrl(), config.requestTimeout(), ids);
+
+        try {
+            int status = api.execute(Operation.LIST);
+            if (status != 200) {
+                fail("GET " + config.baseUrl() + "/api/tasks returned HTTP " + status);
+            }
+            System.err.printf("Creating %d tasks%n", config.initialTasks());
+            for (int i = 0; i < config.initialTasks(); i++) {
+                status = api.create();
+                if (status / 100 != 2) {
+                    fail("Creating a task returned HTTP " + status);
+                }
+            }
+        } catch (ConnectException e) {
+            fail("Cannot connect to " + config.baseUrl() + "; start the application first");
+        }
+
+        System.err.printf("Running %.1f requests/s (%s) for %s after %s warmup%n",
+                config.rate(), config.arrivals(), config.duration(), config.warmup());
+        List<OperationResult> results = new OpenLoadGenerator(config, api, System.err).run();
+        String report = LoadReport.format(config, results);
+        LoadReport.write(config.outputDir(), report, results);
+        System.out.print(report);
+        System.err.println("Report written to " + config.outputDir().toAbsolutePath());
+    }
+
+    private static void fail(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.taskmanagerment.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Load test settings, parsed from --key=value arguments
+public record LoadTestConfig(URI baseUrl,
+                             double rate,
+                             Arrivals arrivals,
+                             Duration warmup,
+                             Duration duration,
+                             OperationMix mix,
+                             int initialTasks,
+                             int maxInFlight,
+                             Duration requestTimeout,
+                             long seed,
+                             Path outputDir) {
+
+    public static final String USAGE = """
+            Options (all optional):
+              --base-url=http://localhost:8080   application under test
+              --rate=200                         requests per second, across all operations
+              --arrivals=poisson                 poisson | constant
+              --warmup=PT10S                     run but do not record
+              --duration=PT60S                   recorded part of the run
+              --mix=%s
+              --initial-tasks=1000               tasks created before the run for get/update/delete
+              --max-in-flight=10000              arrivals beyond this many open requests are dropped and counted
+              --request-timeout=PT10S
+              --seed=42                          fixes the arrival times and operation sequence
+              --out=target/loadtest              report.txt and one <operation>.hgrm per operation
+            """.formatted(OperationMix.DEFAULT);
+
+    private static final Set<String> KEYS = Set.of("base-url", "rate", "arrivals", "warmup", "duration", "mix",
+            "initial-tasks", "max-in-flight", "request-timeout", "seed", "out");
+
+    public LoadTestConfig {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("duration must be positive and warmup must not be negative");
+        }
+        if (maxInFlight <= 0 || initialTasks < 0) {
+            throw new IllegalArgumentException("max-in-flight must be positive and initial-tasks must not be negative");
+        }
+    }
+
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            String key = arg.substring(2, equals);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+            options.put(key, arg.substring(equals + 1));
+        }
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        return new LoadTestConfig(
+                URI.create(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl),
+                Double.parseDouble(options.getOrDefault("rate", "200")),
+                Arrivals.valueOf(options.getOrDefault("arrivals", "poisson").toUpperCase(Locale.ROOT)),
+                Duration.parse(options.getOrDefault("warmup", "PT10S")),
+                Duration.parse(options.getOrDefault("duration", "PT60S")),
+                OperationMix.parse(options.getOrDefault("mix", OperationMix.DEFAULT)),
+                Integer.parseInt(options.getOrDefault("initial-tasks", "1000")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+                Duration.parse(options.getOrDefault("request-timeout", "PT10S")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Path.of(options.getOrDefault("out", "target/loadtest")));
+    }
+}
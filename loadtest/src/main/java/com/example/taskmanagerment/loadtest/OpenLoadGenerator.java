@@ -0,0 +1,128 @@
+package com.example.taskmanagerment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model generator: arrival times are fixed up front from the rate and seed, and every request
+// runs on its own virtual thread, so a slow response never delays the next send. Latency is taken
+// from the intended send time, so time a request spent waiting to be sent is counted too
+// (no coordinated omission).
+final class OpenLoadGenerator {
+
+    private static final long PROGRESS_INTERVAL_SECONDS = 5;
+
+    private final LoadTestConfig config;
+    private final TaskApi api;
+    private final PrintStream progress;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    OpenLoadGenerator(LoadTestConfig config, TaskApi api, PrintStream progress) {
+        this.config = config;
+        this.api = api;
+        this.progress = progress;
+        for (Operation operation : Operation.values()) {
+            if (config.mix().includes(operation)) {
+                stats.put(operation, new OperationStats(operation));
+            }
+        }
+    }
+
+    // Runs warmup and measurement; returns one result per operation in the mix, in enum order
+    List<OperationResult> run() {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long start = System.nanoTime();
+        long recordFrom = start + config.warmup().toNanos();
+        long end = recordFrom + config.duration().toNanos();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory());
+        reporter.scheduleAtFixedRate(() -> printProgress(start, recordFrom),
+                PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += config.arrivals().nextGapNanos(config.rate(), random)) {
+                Operation operation = config.mix().next(random);
+                waitUntil(intended);
+                boolean recorded = intended >= recordFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (recorded) {
+                        stats.get(operation).recordDropped();
+                    }
+                    continue;
+                }
+                long scheduled = intended;
+                requests.execute(() -> {
+                    try {
+                        send(operation, scheduled, recorded);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        List<OperationResult> results = new ArrayList<>();
+        stats.values().forEach(operationStats -> results.add(operationStats.result()));
+        return results;
+    }
+
+    private void send(Operation operation, long intendedNanos, boolean recorded) {
+        OperationStats operationStats = stats.get(operation);
+        try {
+            int status = api.execute(operation);
+            long latencyMicros = (System.nanoTime() - intendedNanos) / 1000;
+            if (!recorded) {
+                return;
+            }
+            if (status / 100 == 2) {
+                operationStats.recordSuccess(latencyMicros);
+            } else {
+                operationStats.recordError(status == TaskApi.NO_TASK ? "no-task" : String.valueOf(status));
+            }
+        } catch (IOException e) {
+            if (recorded) {
+                operationStats.recordError(e.getClass().getSimpleName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(long nanoTime) {
+        for (long wait = nanoTime - System.nanoTime(); wait > 0; wait = nanoTime - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private void printProgress(long start, long recordFrom) {
+        long now = System.nanoTime();
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(now - start);
+        if (now < recordFrom) {
+            progress.printf("[%4ds] warmup%n", elapsedSeconds);
+            return;
+        }
+        Histogram interval = new Histogram(3);
+        long errors = 0;
+        for (OperationStats operationStats : stats.values()) {
+            interval.add(operationStats.drainInterval());
+            errors += operationStats.errorCount();
+        }
+        progress.printf("[%4ds] ok/s %8.1f  p50 %8.2f ms  p99 %8.2f ms  errors so far %d%n", elapsedSeconds,
+                interval.getTotalCount() / (double) PROGRESS_INTERVAL_SECONDS,
+                interval.getValueAtPercentile(50) / 1000.0, interval.getValueAtPercentile(99) / 1000.0, errors);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanagerment.loadtest;
+
+import java.util.Locale;
+
+// Request types the generator mixes; each maps to one /api/tasks endpoint
+public enum Operation {
+    CREATE,
+    GET,
+    LIST,
+    UPDATE,
+    DELETE;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key().equals(key.trim().toLowerCase(Locale.ROOT))) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
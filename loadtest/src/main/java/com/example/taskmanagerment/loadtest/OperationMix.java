@@ -0,0 +1,70 @@
+package com.example.taskmanagerment.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+// Weighted choice of the next operation, parsed from "create:20,get:50,list:15,update:10,delete:5"
+public final class OperationMix {
+
+    public static final String DEFAULT = "create:20,get:50,list:15,update:10,delete:5";
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+    }
+
+    public static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry must be operation:weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.merge(Operation.fromKey(parts[0]), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operation with a positive weight: " + spec);
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    public boolean includes(Operation operation) {
+        return weights.containsKey(operation);
+    }
+
+    // Canonical form (enum order), so the same mix always prints the same way in reports
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        weights.forEach((operation, weight) -> joiner.add(operation.key() + ":" + weight));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanagerment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+// Final numbers for one operation: 2xx latencies in microseconds, error counts by cause (sorted)
+record OperationResult(Operation operation, Histogram latencies, Map<String, Long> errors, long dropped) {
+
+    long ok() {
+        return latencies.getTotalCount();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
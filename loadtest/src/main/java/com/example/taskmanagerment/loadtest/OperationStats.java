@@ -0,0 +1,57 @@
+package com.example.taskmanagerment.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Recorded outcomes of one operation. Request threads record without locking; the Recorder hands
+// finished intervals to the reporting side, which adds them to the running total.
+final class OperationStats {
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    // Latency of a 2xx response, in microseconds from the intended send time
+    void recordSuccess(long latencyMicros) {
+        recorder.recordValue(Math.max(1, latencyMicros));
+    }
+
+    // Non-2xx status or exception name
+    void recordError(String cause) {
+        errors.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    // Arrival not sent because max-in-flight requests were already open
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    // Latencies recorded since the previous call; they are also added to the total
+    synchronized Histogram drainInterval() {
+        Histogram interval = recorder.getIntervalHistogram();
+        total.add(interval);
+        return interval;
+    }
+
+    synchronized OperationResult result() {
+        drainInterval();
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((cause, count) -> errorCounts.put(cause, count.sum()));
+        return new OperationResult(operation, total.copy(), errorCounts, dropped.sum());
+    }
+}
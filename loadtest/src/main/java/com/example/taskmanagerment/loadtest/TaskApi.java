@@ -0,0 +1,102 @@
+package com.example.taskmanagerment.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Builds and sends one request per operation against /api/tasks, keeping the IdPool in step
+final class TaskApi {
+
+    // Returned instead of an HTTP status when get/update/delete find no task to target
+    static final int NO_TASK = -1;
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final HttpClient client;
+    private final URI tasks;
+    private final Duration timeout;
+    private final IdPool ids;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    TaskApi(HttpClient client, URI baseUrl, Duration timeout, IdPool ids) {
+        this.client = client;
+        this.tasks = baseUrl.resolve("/api/tasks");
+        this.timeout = timeout;
+        this.ids = ids;
+    }
+
+    // Sends one request and returns its HTTP status (or NO_TASK)
+    int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE -> create();
+            case GET -> {
+                long id = ids.pick();
+                yield id < 0 ? NO_TASK : send(request(taskUri(id)).GET());
+            }
+            case LIST -> {
+                long after = Math.max(0, ids.pick() - 1);
+                yield send(request(URI.create(tasks + "?limit=20&after=" + after)).GET());
+            }
+            case UPDATE -> {
+                long id = ids.pick();
+                yield id < 0 ? NO_TASK : send(request(taskUri(id))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(taskJson("Updated task " + id))));
+            }
+            case DELETE -> {
+                long id = ids.take();
+                if (id < 0) {
+                    yield NO_TASK;
+                }
+                int status = send(request(taskUri(id)).DELETE());
+                if (status >= 500) {
+                    ids.add(id); // the task may still exist; keep it in play
+                }
+                yield status;
+            }
+        };
+    }
+
+    int create() throws IOException, InterruptedException {
+        HttpRequest request = request(tasks)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson("Load test task")))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 == 2) {
+            long id = mapper.readTree(response.body()).path("id").asLong(-1);
+            if (id > 0) {
+                ids.add(id);
+            }
+        }
+        return response.statusCode();
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(timeout);
+    }
+
+    private URI taskUri(long id) {
+        return URI.create(tasks + "/" + id);
+    }
+
+    private static String taskJson(String title) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return """
+                {"title":"%s","description":"Generated by the load test","status":"%s","priority":"%s","dueDate":"%s"}"""
+                .formatted(title, STATUSES[random.nextInt(STATUSES.length)],
+                        PRIORITIES[random.nextInt(PRIORITIES.length)], LocalDate.now().plusDays(random.nextInt(90)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanagerment.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadReportTest {
+
+    @Test
+    void testFormat_shouldListOperationsThenTotalsThenErrors() {
+        LoadTestConfig config = LoadTestConfig.parse("--rate=10", "--duration=PT2S", "--mix=get:1,delete:1");
+        Histogram get = new Histogram(3);
+        for (int i = 1; i <= 10; i++) {
+            get.recordValue(i * 1000L);
+        }
+        Histogram delete = new Histogram(3);
+        delete.recordValue(4000);
+        List<OperationResult> results = List.of(
+                new OperationResult(Operation.GET, get, Map.of(), 0),
+                new OperationResult(Operation.DELETE, delete, Map.of("404", 2L), 1));
+
+        String report = LoadReport.format(config, results);
+
+        String[] lines = report.split("\n");
+        assertTrue(report.contains("mix          get:1,delete:1\n"), report);
+        assertTrue(report.contains("get              5.0        10       0        0      5.00      9.01     10.01     10.01     10.01\n"), report);
+        assertTrue(report.contains("delete           0.5         1       2        1"), report);
+        assertTrue(report.contains("all              5.5        11       2        1"), report);
+        assertEquals("delete     404                      2", lines[lines.length - 1]);
+        assertEquals(report, LoadReport.format(config, results));
+    }
+}
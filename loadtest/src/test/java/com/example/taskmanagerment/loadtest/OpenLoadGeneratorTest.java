@@ -0,0 +1,86 @@
+package com.example.taskmanagerment.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoadGeneratorTest {
+
+    private static final long SERVER_DELAY_MILLIS = 50;
+
+    private HttpServer server;
+    private URI baseUrl;
+
+    // Stand-in for the task API that answers every request after a fixed delay
+    @BeforeEach
+    void startServer() throws IOException {
+        AtomicLong ids = new AtomicLong();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/tasks", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            boolean create = exchange.getRequestMethod().equals("POST");
+            byte[] body = (create ? "{\"id\":" + ids.incrementAndGet() + "}" : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(create ? 201 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRun_shouldKeepArrivalRateWhenResponsesAreSlow() throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse("--base-url=" + baseUrl, "--rate=100", "--arrivals=constant",
+                "--warmup=PT0.2S", "--duration=PT1S", "--mix=create:1,get:1");
+        IdPool ids = new IdPool();
+        TaskApi api = new TaskApi(HttpClient.newHttpClient(), config.baseUrl(), config.requestTimeout(), ids);
+        api.create();
+
+        List<OperationResult> results = new OpenLoadGenerator(config, api, System.err).run();
+
+        // A closed loop with one connection would manage about 20 requests in that second
+        long ok = results.stream().mapToLong(OperationResult::ok).sum();
+        assertEquals(100, ok, 10);
+        assertEquals(0, results.stream().mapToLong(OperationResult::errorCount).sum());
+        for (OperationResult result : results) {
+            assertTrue(result.latencies().getValueAtPercentile(50) >= SERVER_DELAY_MILLIS * 1000,
+                    result.operation() + " p50 " + result.latencies().getValueAtPercentile(50));
+        }
+    }
+
+    @Test
+    void testRun_shouldCountArrivalsBeyondMaxInFlightAsDropped() {
+        LoadTestConfig config = LoadTestConfig.parse("--base-url=" + baseUrl, "--rate=200", "--arrivals=constant",
+                "--warmup=PT0S", "--duration=PT0.5S", "--mix=list:1", "--max-in-flight=2");
+        TaskApi api = new TaskApi(HttpClient.newHttpClient(), config.baseUrl(), config.requestTimeout(), new IdPool());
+
+        OperationResult list = new OpenLoadGenerator(config, api, System.err).run().getFirst();
+
+        assertTrue(list.dropped() > 0);
+        assertEquals(100, list.ok() + list.dropped(), 2);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanagerment.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMixTest {
+
+    @Test
+    void testParse_shouldPrintInCanonicalOrderWithoutZeroWeights() {
+        OperationMix mix = OperationMix.parse("delete:5, GET:50,create:20,list:0");
+
+        assertEquals("create:20,get:50,delete:5", mix.toString());
+        assertFalse(mix.includes(Operation.LIST));
+    }
+
+    @Test
+    void testParse_shouldRejectUnknownOperationAndEmptyMix() {
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("create:1,patch:1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("create:0"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("create"));
+    }
+
+    @Test
+    void testNext_shouldFollowWeights() {
+        OperationMix mix = OperationMix.parse("get:3,update:1");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(0.75, counts.get(Operation.GET) / 100_000.0, 0.01);
+    }
+
+    @Test
+    void testNext_shouldRepeatForSameSeed() {
+        OperationMix mix = OperationMix.parse(OperationMix.DEFAULT);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(mix.next(first), mix.next(second));
+        }
+    }
+}
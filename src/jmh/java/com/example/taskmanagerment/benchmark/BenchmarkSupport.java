@@ -0,0 +1,88 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.TaskmanagermentApplication;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Shared setup for the benchmarks: a non-web application context on its own in-memory H2 database
+final class BenchmarkSupport {
+
+    private static final int SEED_CHUNK = 1000;
+
+    private BenchmarkSupport() {
+    }
+
+    static ConfigurableApplicationContext startContext(String databaseName, String... extraProperties) {
+        return start(WebApplicationType.NONE, databaseName, extraProperties);
+    }
+
+    // Full servlet stack on a random port; read it back with local.server.port
+    static ConfigurableApplicationContext startWebContext(String databaseName, String... extraProperties) {
+        String[] properties = Stream.concat(Stream.of("server.port=0"), Stream.of(extraProperties)).toArray(String[]::new);
+        return start(WebApplicationType.SERVLET, databaseName, properties);
+    }
+
+    // The "durable" profile on an H2 file database under dataDir
+    static ConfigurableApplicationContext startDurableContext(WebApplicationType type, Path dataDir, String... extraProperties) {
+        String[] properties = Stream.concat(Stream.of("tasks.data-dir=" + dataDir), Stream.of(extraProperties)).toArray(String[]::new);
+        return run(type, new String[]{"durable"}, properties);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String databaseName, String... extraProperties) {
+        String[] properties = Stream.concat(
+                Stream.of("spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Stream.of(extraProperties)).toArray(String[]::new);
+        return run(type, new String[0], properties);
+    }
+
+    // Properties go in as command-line arguments so they win over application*.properties
+    private static ConfigurableApplicationContext run(WebApplicationType type, String[] profiles, String... properties) {
+        String[] args = Stream.concat(Stream.of(
+                        "spring.devtools.restart.enabled=false",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN"),
+                Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TaskmanagermentApplication.class)
+                .web(type)
+                .profiles(profiles)
+                .run(args);
+    }
+
+    // Insert rows in chunks so seeding large tables stays within batch-sized transactions
+    static List<Long> seed(TaskRepository taskRepository, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        List<Task> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < count; i++) {
+            chunk.add(newTask(i));
+            if (chunk.size() == SEED_CHUNK || i == count - 1) {
+                taskRepository.saveAll(chunk).forEach(task -> ids.add(task.getId()));
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    static Task newTask(int i) {
+        Task task = new Task();
+        task.setTitle("Benchmark task " + i);
+        task.setDescription("Generated description for benchmark task number " + i
+                + " with enough text to look like a real ticket body.");
+        task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+        task.setPriority(Priority.values()[i % Priority.values().length]);
+        task.setDueDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+        return task;
+    }
+}
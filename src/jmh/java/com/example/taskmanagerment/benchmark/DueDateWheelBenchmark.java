@@ -0,0 +1,53 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.overdue.DueDateWheel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the overdue timing wheel with millions of pending tasks due over the next two years
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class DueDateWheelBenchmark {
+
+    private static final int DAYS = 730;
+
+    @Param({"1000000", "5000000"})
+    public int pending;
+
+    private DueDateWheel wheel;
+    private SplittableRandom random;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42);
+        wheel = new DueDateWheel(LocalDate.of(2025, 1, 1));
+        for (nextId = 0; nextId < pending; nextId++) {
+            wheel.schedule(nextId, wheel.today().plusDays(random.nextInt(DAYS)));
+        }
+    }
+
+    // One write: a new or rescheduled task
+    @Benchmark
+    public void schedule() {
+        wheel.schedule(nextId++, wheel.today().plusDays(random.nextInt(DAYS)));
+    }
+
+    // Steady state: a day passes and about pending / 730 tasks fire; the backlog is topped up to stay level
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void tickOneDay(Blackhole blackhole) {
+        wheel.advanceTo(wheel.today().plusDays(1), (day, ids) -> blackhole.consume(ids));
+        for (int i = 0; i < pending / DAYS; i++) {
+            wheel.schedule(nextId++, wheel.today().plusDays(DAYS - 1));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.taskmanagerment.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Time from starting the application in the durable profile to the first served request, on a store
+// holding a million tasks: after a clean shutdown, and after the database was dropped without cleanup
+// (as a crash would). Startup includes Flyway validation and rebuilding the in-memory statistics,
+// search index and overdue wheel from the table.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class DurableStartupBenchmark {
+
+    @Param({"1000000"})
+    public int tasks;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException {
+        dataDir = Files.createTempDirectory("tasks-durable");
+        try (ConfigurableApplicationContext seeding = BenchmarkSupport.startDurableContext(WebApplicationType.NONE, dataDir)) {
+            JdbcTemplate jdbc = seeding.getBean(JdbcTemplate.class);
+            jdbc.update("""
+                    insert into task (id, title, description, status, priority, due_date, version)
+                    select x,
+                           concat('Benchmark task ', x),
+                           concat('Generated description for benchmark task number ', x, ' with enough text to look like a real ticket body.'),
+                           case mod(x, 3) when 0 then 'PENDING' when 1 then 'IN_PROGRESS' else 'COMPLETED' end,
+                           case mod(x, 3) when 0 then 'LOW' when 1 then 'MEDIUM' else 'HIGH' end,
+                           dateadd(day, mod(x, 365), date '2025-01-01'),
+                           0
+                    from system_range(1, ?)
+                    """, tasks);
+            jdbc.execute("alter sequence task_seq restart with " + (tasks + 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        context.close();
+    }
+
+    // Left behind by a run that was killed: recent writes, then the files closed with no final store
+    @State(Scope.Benchmark)
+    public static class CrashedStore {
+
+        @Setup(Level.Invocation)
+        public void crash(DurableStartupBenchmark benchmark) {
+            ConfigurableApplicationContext running = BenchmarkSupport.startDurableContext(WebApplicationType.NONE, benchmark.dataDir);
+            try {
+                JdbcTemplate jdbc = running.getBean(JdbcTemplate.class);
+                jdbc.update("update task set version = version + 1 where id <= 10000");
+                jdbc.execute("SHUTDOWN IMMEDIATELY");
+            } finally {
+                try {
+                    running.close();
+                } catch (RuntimeException e) {
+                    // The pool's connections died with the database
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int cleanStartToFirstRequest() throws Exception {
+        return startAndRequest();
+    }
+
+    @Benchmark
+    public int recoveryToFirstRequest(CrashedStore crashed) throws Exception {
+        return startAndRequest();
+    }
+
+    private int startAndRequest() throws Exception {
+        context = BenchmarkSupport.startDurableContext(WebApplicationType.SERVLET, dataDir, "server.port=0");
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/1")).GET().build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("First request failed with " + status);
+        }
+        return status;
+    }
+}
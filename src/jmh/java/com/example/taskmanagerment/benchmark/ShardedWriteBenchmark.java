@@ -0,0 +1,65 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.store.ShardedTaskStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Insert throughput of ShardedTaskStore with 8 concurrent writers as shards are added. "file" puts each shard
+// in an H2 file with WRITE_DELAY=0 (every commit is written out, as in the durable profile with
+// tasks.h2.write-delay-ms=0); "mem" uses in-memory shards, where only CPU and the database lock limit writes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class ShardedWriteBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    @Param({"mem", "file"})
+    public String storage;
+
+    private Path dataDir;
+    private ShardedTaskStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String url;
+        if (storage.equals("file")) {
+            dataDir = Files.createTempDirectory("sharded-benchmark");
+            url = "jdbc:h2:file:" + dataDir + "/shard-{shard};WRITE_DELAY=0";
+        } else {
+            url = "jdbc:h2:mem:sharded-benchmark-" + UUID.randomUUID() + "-{shard};DB_CLOSE_DELAY=-1";
+        }
+        store = new ShardedTaskStore(shards, url, 8, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.destroy();
+        if (dataDir != null) {
+            try (Stream<Path> files = Files.walk(dataDir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Task insert() {
+        return store.save(BenchmarkSupport.newTask(ThreadLocalRandom.current().nextInt(1_000_000)));
+    }
+}
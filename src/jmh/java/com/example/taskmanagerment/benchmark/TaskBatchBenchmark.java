@@ -0,0 +1,61 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.dto.BatchItemResult;
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.enums.BatchOperationType;
+import com.example.taskmanagerment.service.TaskBatchService;
+import com.example.taskmanagerment.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Inserts per second: one createTask call per row versus one /batch transaction per BATCH_SIZE rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBatchBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskBatchService taskBatchService;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("batch");
+        taskService = context.getBean(TaskService.class);
+        taskBatchService = context.getBean(TaskBatchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int singleInserts() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            taskService.createTask(BenchmarkSupport.newTask(created++));
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResult> batchInserts() {
+        List<BatchOperation> operations = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            operations.add(new BatchOperation(BatchOperationType.CREATE, null, BenchmarkSupport.newTask(created++)));
+        }
+        return taskBatchService.applyBatch(operations);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Status flip: PUT path (SELECT + copy all fields + UPDATE) versus PATCH path (one UPDATE)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPatchBenchmark {
+
+    private static final int TABLE_SIZE = 10_000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("patch");
+        taskService = context.getBean(TaskService.class);
+        ids = BenchmarkSupport.seed(context.getBean(TaskRepository.class), TABLE_SIZE)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task putStatusFlip() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(ids.length);
+        Task replacement = BenchmarkSupport.newTask(i);
+        replacement.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        return taskService.updateTask(ids[i], replacement, null);
+    }
+
+    @Benchmark
+    public long patchStatusFlip() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids[random.nextInt(ids.length)];
+        taskService.patchTask(id, new TaskPatch(null, null, STATUSES[random.nextInt(STATUSES.length)], null, null), null);
+        return id;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.dto.TaskFilter;
+import com.example.taskmanagerment.dto.TaskPage;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// view=full vs view=summary for one 1000-row keyset page. servicePage isolates the query and row
+// mapping (run with -prof gc: gc.alloc.rate.norm / 1000 = bytes allocated per row); httpPage adds
+// serialization and the wire, and reports the response size of one page as httpPage:responseBytes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskProjectionBenchmark {
+
+    private static final int TABLE_SIZE = 20_000;
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"full", "summary"})
+    public String view;
+
+    // Task descriptions are varchar(255); 255 is the worst case for full rows
+    @Param({"100", "255"})
+    public int descriptionLength;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private HttpClient client;
+    private URI pageUri;
+    private int responseBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkSupport.startWebContext("projection-" + view + "-" + descriptionLength);
+        taskService = context.getBean(TaskService.class);
+        List<Task> tasks = new ArrayList<>(TABLE_SIZE);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            Task task = BenchmarkSupport.newTask(i);
+            task.setDescription(("Task " + i + " ").repeat(descriptionLength).substring(0, descriptionLength));
+            tasks.add(task);
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+        client = HttpClient.newHttpClient();
+        pageUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/api/tasks?limit=" + PAGE_SIZE + "&after=" + TABLE_SIZE / 2 + "&view=" + view);
+        responseBytes = fetchPage().length;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskPage<?> servicePage() {
+        TaskFilter filter = TaskFilter.none();
+        long after = TABLE_SIZE / 2;
+        return view.equals("summary")
+                ? taskService.getTaskSummariesPage(after, PAGE_SIZE, filter)
+                : taskService.getTasksPage(after, PAGE_SIZE, filter);
+    }
+
+    @Benchmark
+    public byte[] httpPage(PageSize pageSize) throws Exception {
+        pageSize.responseBytes = responseBytes;
+        return fetchPage();
+    }
+
+    private byte[] fetchPage() throws Exception {
+        return client.send(HttpRequest.newBuilder(pageUri).GET().build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    // Secondary result: bytes in one page's response body, measured once at trial setup. JMH zeroes
+    // the field before each iteration and reports it as is, so the benchmark sets it on every call.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PageSize {
+
+        public long responseBytes;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.search.InvertedIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Query latency of the in-process search index against a substring scan (the work LIKE '%x%' has to do).
+// Documents use a Zipf-distributed vocabulary, so "common" terms hit a large share of tasks and "rare" ones a few.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int TITLE_WORDS = 4;
+    private static final int DESCRIPTION_WORDS = 15;
+
+    @Param({"1000000"})
+    public int documents;
+
+    private InvertedIndex index;
+    private String[] titles;
+    private String[] descriptions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        index = new InvertedIndex();
+        titles = new String[documents];
+        descriptions = new String[documents];
+        for (int i = 0; i < documents; i++) {
+            titles[i] = words(random, cumulative, TITLE_WORDS);
+            descriptions[i] = words(random, cumulative, DESCRIPTION_WORDS);
+            index.add(i + 1, titles[i], descriptions[i]);
+        }
+    }
+
+    private static String words(SplittableRandom random, double[] cumulative, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int position = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            text.append(i == 0 ? "" : " ").append("word").append(position >= 0 ? position : -position - 1);
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public InvertedIndex.SearchHits commonTerm() {
+        return index.search(List.of("word2"), 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.SearchHits rareTerm() {
+        return index.search(List.of("word15000"), 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.SearchHits twoTerms() {
+        return index.search(List.of("word10", "word300"), 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.SearchHits deepPage() {
+        return index.search(List.of("word10"), 980, 20);
+    }
+
+    // Baseline: scan every title and description for the substring, as an unindexed LIKE query would
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public int substringScan() {
+        int matches = 0;
+        for (int i = 0; i < documents; i++) {
+            if (titles[i].contains("word15000") || descriptions[i].contains("word15000")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.entity.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Jackson encode/decode of Task and List<Task> with the same mapper configuration the app uses, for
+// each wire format the API negotiates. serializeList also reports the list payload size, raw and gzipped,
+// as serializeList:listBytes and serializeList:gzippedListBytes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int listSize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter taskWriter;
+    private ObjectReader taskReader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+
+    private Task task;
+    private List<Task> tasks;
+    private byte[] taskJson;
+    private byte[] listJson;
+    private int gzippedListBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        TypeReference<List<Task>> listType = new TypeReference<>() {
+        };
+        taskWriter = objectMapper.writerFor(Task.class);
+        taskReader = objectMapper.readerFor(Task.class);
+        listWriter = objectMapper.writerFor(listType);
+        listReader = objectMapper.readerFor(listType);
+
+        tasks = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Task generated = BenchmarkSupport.newTask(i);
+            generated.setId((long) i + 1);
+            tasks.add(generated);
+        }
+        task = tasks.get(0);
+        taskJson = taskWriter.writeValueAsBytes(task);
+        listJson = listWriter.writeValueAsBytes(tasks);
+        gzippedListBytes = gzippedSize(listJson);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws Exception {
+        return taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public Task deserializeTask() throws Exception {
+        return taskReader.readValue(taskJson);
+    }
+
+    @Benchmark
+    public byte[] serializeList(PayloadSize payloadSize) throws Exception {
+        payloadSize.listBytes = listJson.length;
+        payloadSize.gzippedListBytes = gzippedListBytes;
+        return listWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<Task> deserializeList() throws Exception {
+        return listReader.readValue(listJson);
+    }
+
+    // Secondary results: size of the encoded list, measured once at setup. JMH zeroes the fields before
+    // each iteration and reports them as is, so serializeList sets them on every call.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long listBytes;
+        public long gzippedListBytes;
+    }
+}
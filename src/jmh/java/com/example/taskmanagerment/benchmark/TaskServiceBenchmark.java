@@ -0,0 +1,85 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.dto.TaskFilter;
+import com.example.taskmanagerment.dto.TaskPage;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// TaskService hot paths against H2 at several table sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private long[] ids;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("service-" + tableSize);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        ids = BenchmarkSupport.seed(taskRepository, tableSize).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(BenchmarkSupport.newTask(created++));
+    }
+
+    // Mostly cache hits once warmed up
+    @Benchmark
+    public Task getTaskById() {
+        return taskService.getTaskById(randomId());
+    }
+
+    // Baseline without the cache: straight to H2
+    @Benchmark
+    public Task findByIdUncached() {
+        return taskRepository.findById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        long id = randomId();
+        return taskService.updateTask(id, BenchmarkSupport.newTask((int) id));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public List<Task> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public TaskPage<Task> getTasksPage() {
+        return taskService.getTasksPage(randomId(), TaskService.DEFAULT_PAGE_SIZE, TaskFilter.none());
+    }
+}
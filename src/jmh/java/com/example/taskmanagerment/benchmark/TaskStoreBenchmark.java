@@ -0,0 +1,91 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// tasks.store=jpa vs columnar, calling the TaskStore directly (no task cache in front). findById also
+// reports the heap each stored task costs as findById:heapBytesPerTask: used heap after a full GC, before
+// and after seeding. With jpa that is the in-memory H2 table and its indexes, the closest in-process
+// equivalent of the columnar arrays.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class TaskStoreBenchmark {
+
+    private static final int TABLE_SIZE = 100_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"jpa", "columnar"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private TaskStore taskStore;
+    private long[] ids;
+    private long heapBytesPerTask;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("store-" + store, "tasks.store=" + store);
+        taskStore = context.getBean(TaskStore.class);
+        long before = usedHeapAfterGc();
+        ids = seed();
+        // Not counting the benchmark's own id array
+        heapBytesPerTask = (usedHeapAfterGc() - before) / TABLE_SIZE - Long.BYTES;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task findById(Footprint footprint) {
+        footprint.heapBytesPerTask = heapBytesPerTask;
+        return taskStore.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Task> page() {
+        long after = ids[ThreadLocalRandom.current().nextInt(ids.length - PAGE_SIZE)];
+        return taskStore.findPageAfter(after, null, null, null, null, Limit.of(PAGE_SIZE));
+    }
+
+    private long[] seed() {
+        if (taskStore instanceof TaskRepository taskRepository) {
+            return BenchmarkSupport.seed(taskRepository, TABLE_SIZE).stream().mapToLong(Long::longValue).toArray();
+        }
+        long[] seeded = new long[TABLE_SIZE];
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            seeded[i] = taskStore.save(BenchmarkSupport.newTask(i)).getId();
+        }
+        return seeded;
+    }
+
+    // Secondary result: heap per stored task, measured once at trial setup. JMH zeroes the field before
+    // each iteration and reports it as is, so findById sets it on every call.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long heapBytesPerTask;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
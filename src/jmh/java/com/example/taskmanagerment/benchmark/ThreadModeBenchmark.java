@@ -0,0 +1,60 @@
+package com.example.taskmanagerment.benchmark;
+
+import com.example.taskmanagerment.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Platform vs virtual request threads under high client concurrency. Tomcat's platform pool is
+// capped below the client thread count so requests queue behind threads blocked on JDBC.
+// SampleTime reports p50/p99/p99.9; Throughput reports requests per second.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int TABLE_SIZE = 10_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startWebContext("threads-" + virtualThreads,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=64");
+        BenchmarkSupport.seed(context.getBean(TaskRepository.class), TABLE_SIZE);
+        maxId = context.getBean(TaskRepository.class).count();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Keyset page: always goes to the database (not served by the getTaskById cache)
+    @Benchmark
+    public int listPage() throws Exception {
+        long after = ThreadLocalRandom.current().nextLong(maxId);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "?limit=20&after=" + after)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanagerment.config;
+
+import com.example.taskmanagerment.web.AdmissionControlFilter;
+import com.example.taskmanagerment.web.ClientRateLimiter;
+import com.example.taskmanagerment.web.PoolPressureMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Per-client rate limits and load shedding for /api/tasks (tasks.admission.*)
+@Configuration
+@ConditionalOnProperty(name = "tasks.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(@Value("${tasks.admission.rate:500}") double rate,
+                                               @Value("${tasks.admission.burst:1000}") int burst,
+                                               @Value("${tasks.admission.max-clients:100000}") long maxClients) {
+        // Off by default, so say it is on: callers may now get 429/503 where they used to be served
+        log.info("Admission control is on for {}: {} tokens/s per client, burst {}",
+                AdmissionControlFilter.BASE_PATH, rate, burst);
+        return new ClientRateLimiter(rate, burst, maxClients);
+    }
+
+    @Bean
+    public PoolPressureMonitor poolPressureMonitor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                   @Value("${tasks.admission.max-pool-wait:PT0.05S}") Duration maxPoolWait) {
+        return new PoolPressureMonitor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), maxPoolWait);
+    }
+
+    // Runs right after the request observation filter, so rejected requests still show up in http.server.requests
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            ClientRateLimiter clientRateLimiter, PoolPressureMonitor poolPressureMonitor,
+            @Value("${tasks.admission.client-header:}") String clientHeader, ObjectProvider<MeterRegistry> meterRegistry) {
+        AdmissionControlFilter filter = new AdmissionControlFilter(clientRateLimiter, poolPressureMonitor, clientHeader,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(AdmissionControlFilter.BASE_PATH, AdmissionControlFilter.BASE_PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanagerment.config;
+
+import com.example.taskmanagerment.entity.Task;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASK_CACHE = "tasks";
+
+    // Size-bounded (by approximate bytes), TTL-expiring Caffeine cache; stats feed the cache.* metrics
+    @Bean
+    public Caffeine<Object, Object> caffeineConfig(@Value("${tasks.cache.max-weight}") long maxWeight,
+                                                   @Value("${tasks.cache.ttl}") Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Object key, Object value) -> weigh(value))
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+
+    // Evictions and puts made inside a transaction (a batch) are applied after it commits. Evicting earlier
+    // let a concurrent getTaskById miss load the old row and cache it for the whole TTL; a rollback now
+    // leaves the cache alone. Hibernate returns the connection at commit (connection.handling_mode), so
+    // an eviction waiting on a loading entry does not hold a connection that load needs.
+    @Bean
+    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASK_CACHE);
+        cacheManager.setCaffeine(caffeine);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof Task task) {
+            int chars = length(task.getTitle()) + length(task.getDescription());
+            return 128 + 2 * chars;
+        }
+        return 128;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanagerment.config;
+
+import com.example.taskmanagerment.replica.ReplicaRoutingDataSource;
+import com.example.taskmanagerment.replica.ReplicaSynchronizer;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Read/write splitting (tasks.replica.*). Two pools, "primary" and "replica", each with its own
+// hikaricp.connections.* metrics. The DataSource everything else uses is a LazyConnectionDataSourceProxy:
+// it takes the physical connection only at the first statement, once the transaction is known to be
+// read-only, from ReplicaRoutingDataSource, which sends read-only transactions to the replica.
+@Configuration
+@ConditionalOnProperty(name = "tasks.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${tasks.replica.url}") String url,
+                                              @Value("${tasks.replica.username:sa}") String username,
+                                              @Value("${tasks.replica.password:}") String password,
+                                              @Value("${tasks.replica.pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSynchronizer replicaSynchronizer(@Qualifier("primaryDataSource") DataSource primary,
+                                                   @Qualifier("replicaDataSource") DataSource replica,
+                                                   @Value("${tasks.replica.apply-delay:PT0S}") Duration applyDelay,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaSynchronizer(primary, replica, applyDelay, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaSynchronizer replicaSynchronizer,
+                                 @Value("${tasks.replica.max-lag:PT0S}") Duration maxLag,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica,
+                replicaSynchronizer::lagNanos, maxLag, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanagerment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled jobs such as the overdue check
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
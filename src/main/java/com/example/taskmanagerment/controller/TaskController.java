@@ -1,50 +1,216 @@
 package com.example.taskmanagerment.controller;
 
+import com.example.taskmanagerment.dto.BatchItemResult;
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.dto.TaskFilter;
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSearchPage;
+import com.example.taskmanagerment.dto.TaskStats;
 import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.enums.TaskView;
+import com.example.taskmanagerment.feed.SseChangeSink;
+import com.example.taskmanagerment.feed.TaskChangeFeed;
+import com.example.taskmanagerment.idempotency.IdempotencyStore;
+import com.example.taskmanagerment.service.TaskBatchService;
 import com.example.taskmanagerment.service.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    private static final int EXPORT_FLUSH_EVERY = 1000;
+
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectWriter exportWriter;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService, TaskChangeFeed taskChangeFeed,
+                          IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.taskChangeFeed = taskChangeFeed;
+        this.idempotencyStore = idempotencyStore;
+        this.exportWriter = objectMapper.writerFor(Task.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     //Create new task
+    //With write-behind enabled the task is only queued: 202 Accepted, and Location is readable straight away.
+    //A retry carrying the same Idempotency-Key gets the first response back instead of a second task.
     @PostMapping
-    public ResponseEntity<Task> createTask(@Validated @RequestBody Task task){
+    public ResponseEntity<Task> createTask(@Validated @RequestBody Task task,
+                                           @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey){
+        if (idempotencyKey != null) {
+            return idempotencyStore.execute(idempotencyKey, task, () -> create(task));
+        }
+        return create(task);
+    }
+
+    private ResponseEntity<Task> create(Task task) {
+        if (taskService.isWriteBehindEnabled()) {
+            Task queuedTask = taskService.enqueueTask(task);
+            return ResponseEntity.accepted().location(URI.create("/api/tasks/" + queuedTask.getId())).body(queuedTask);
+        }
         Task createdTask = taskService.createTask(task);
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
-    //Get task by Id
+    //Create, update and delete many tasks in one transaction
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> applyBatch(@RequestBody List<BatchOperation> operations){
+        List<BatchItemResult> results = taskBatchService.applyBatch(operations);
+        return ResponseEntity.ok(results);
+    }
+
+    //Get task by Id; a matching If-None-Match gets 304 without serializing the body
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id){
         Task task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(eTagOf(task)).body(task);
     }
 
-    //Get all tasks
+    //Get all tasks, or one keyset page when any paging/filter parameter is given.
+    //view=summary returns id, title, status, priority and dueDate only (see TaskSummary).
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(){
-        List<Task> tasks= taskService.getAllTasks();
+    public ResponseEntity<?> getAllTasks(@RequestParam(defaultValue = "full") TaskView view,
+                                         @RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) TaskStatus status,
+                                         @RequestParam(required = false) Priority priority,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore){
+        TaskFilter filter = new TaskFilter(status, priority, dueAfter, dueBefore);
+        boolean summary = view == TaskView.SUMMARY;
+        if (after == null && limit == null && filter.isEmpty()) {
+            return ResponseEntity.ok(summary ? taskService.getAllTaskSummaries() : taskService.getAllTasks());
+        }
+        return ResponseEntity.ok(summary ? taskService.getTaskSummariesPage(after, limit, filter)
+                : taskService.getTasksPage(after, limit, filter));
+    }
+
+    //Get tasks due between two dates (inclusive), optionally by status and priority
+    @GetMapping("/due")
+    public ResponseEntity<List<?>> getTasksDueBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @RequestParam(required = false) TaskStatus status,
+                                                      @RequestParam(required = false) Priority priority,
+                                                      @RequestParam(defaultValue = "full") TaskView view){
+        List<?> tasks = view == TaskView.SUMMARY
+                ? taskService.getTaskSummariesDueBetween(from, to, status, priority)
+                : taskService.getTasksDueBetween(from, to, status, priority);
         return ResponseEntity.ok(tasks);
     }
 
-    //Update a task
+    //Get tasks past their due date that are not completed
+    @GetMapping("/overdue")
+    public ResponseEntity<List<?>> getOverdueTasks(@RequestParam(defaultValue = "full") TaskView view){
+        List<?> tasks = view == TaskView.SUMMARY ? taskService.getOverdueTaskSummaries() : taskService.getOverdueTasks();
+        return ResponseEntity.ok(tasks);
+    }
+
+    //Search tasks by keywords in title and description, ranked, paged by offset
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchPage<?>> searchTasks(@RequestParam String q,
+                                                         @RequestParam(required = false) Integer offset,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(defaultValue = "full") TaskView view){
+        return ResponseEntity.ok(view == TaskView.SUMMARY ? taskService.searchTaskSummaries(q, offset, limit)
+                : taskService.searchTasks(q, offset, limit));
+    }
+
+    //Get task counts by status and priority plus the overdue count (in-memory, no database query)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStatistics(){
+        return ResponseEntity.ok(taskService.getStatistics());
+    }
+
+    //Push committed task changes as Server-Sent Events; Last-Event-ID resumes after a reconnect
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        SseEmitter emitter = new SseEmitter();
+        taskChangeFeed.subscribe(new SseChangeSink(emitter), lastEventId);
+        return emitter;
+    }
+
+    //Export all tasks as newline-delimited JSON, streamed row by row
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(){
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 16 * 1024);
+            int[] written = {0};
+            try (SequenceWriter rows = exportWriter.writeValues(buffered)) {
+                taskService.exportTasks(task -> {
+                    try {
+                        rows.write(task);
+                        // Flush the first row right away so the client sees bytes before the scan finishes
+                        if (++written[0] == 1 || written[0] % EXPORT_FLUSH_EVERY == 0) {
+                            rows.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (written[0] > 0) {
+                buffered.write('\n');
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    //Update a task; with If-Match the update only applies to a version it lists (412 otherwise)
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task){
-        Task updatedTask = taskService.updateTask(id,task);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Task updatedTask = taskService.updateTask(id, task, versionsOf(ifMatch));
+        return ResponseEntity.ok().eTag(eTagOf(updatedTask)).body(updatedTask);
+    }
+
+    //Partially update a task (only the fields present in the body)
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable Long id, @Validated @RequestBody TaskPatch patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        taskService.patchTask(id, patch, versionsOf(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
+
+    //Delete all tasks matching status and/or dueBefore (e.g. retention of old COMPLETED tasks)
+    @DeleteMapping
+    public ResponseEntity<Map<String, Long>> deleteTasks(@RequestParam(required = false) TaskStatus status,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore){
+        long deleted = taskService.deleteTasks(status, dueBefore);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
     }
 
     //Delete task
@@ -53,6 +219,36 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.ok("Task deleted successfully");
     }
+
+    private static String eTagOf(Task task) {
+        return "\"" + (task.getVersion() == null ? 0 : task.getVersion()) + "\"";
+    }
+
+    // Parse an If-Match header into the versions it accepts; null means no precondition.
+    // A list ("3", "4") accepts any of its versions. If-Match compares strongly (RFC 9110 13.1.1), so a weak
+    // tag (W/"3") matches nothing, and neither does a tag that names no version.
+    // "*" only asks for the task to exist, and a missing task is a 404 either way (RFC 9110 13.2.1).
+    private static List<Long> versionsOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String element : ifMatch.split(",")) {
+            String tag = element.trim();
+            if (tag.isEmpty()) {
+                continue;
+            }
+            if (tag.startsWith("W/")) {
+                continue;
+            }
+            try {
+                versions.add(Long.valueOf(tag.replace("\"", "")));
+            } catch (NumberFormatException e) {
+                // Not one of our ETags, so it cannot match any version
+            }
+        }
+        return versions;
+    }
 }
 
 
@@ -0,0 +1,15 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.enums.BatchOperationType;
+
+// Outcome of one batch entry, reported with an HTTP-style status code
+public record BatchItemResult(int index, BatchOperationType op, int status, Long id, String error) {
+
+    public static BatchItemResult ok(int index, BatchOperationType op, int status, Long id) {
+        return new BatchItemResult(index, op, status, id, null);
+    }
+
+    public static BatchItemResult failed(int index, BatchOperationType op, int status, Long id, String error) {
+        return new BatchItemResult(index, op, status, id, error);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.BatchOperationType;
+
+// One entry of a batch request: id is required for UPDATE/DELETE, task for CREATE/UPDATE
+public record BatchOperation(BatchOperationType op, Long id, Task task) {
+}
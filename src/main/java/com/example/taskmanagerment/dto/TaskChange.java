@@ -0,0 +1,8 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.enums.ChangeType;
+import com.example.taskmanagerment.event.TaskSnapshot;
+
+// One entry of the /api/tasks/changes feed; task is the new state, null for DELETED
+public record TaskChange(ChangeType type, long id, TaskSnapshot task) {
+}
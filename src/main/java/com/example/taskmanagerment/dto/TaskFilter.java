@@ -0,0 +1,18 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+// Optional criteria for listing tasks; null fields are not applied
+public record TaskFilter(TaskStatus status, Priority priority, LocalDate dueAfter, LocalDate dueBefore) {
+
+    public static TaskFilter none() {
+        return new TaskFilter(null, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return status == null && priority == null && dueAfter == null && dueBefore == null;
+    }
+}
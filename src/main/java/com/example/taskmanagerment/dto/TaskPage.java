@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.dto;
+
+import java.util.List;
+
+// One page of a keyset listing; nextCursor is null on the last page
+public record TaskPage<T>(List<T> items, Long nextCursor) {
+}
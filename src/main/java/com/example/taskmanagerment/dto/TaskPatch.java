@@ -0,0 +1,23 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+// Partial update: only non-null fields are written. Present fields follow the same rules as on Task.
+public record TaskPatch(
+        @Size(min = 3, max = 100)
+        @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank") String title,
+        @Size(max = 255)
+        @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank") String description,
+        TaskStatus status,
+        Priority priority,
+        LocalDate dueDate) {
+
+    public boolean isEmpty() {
+        return title == null && description == null && status == null && priority == null && dueDate == null;
+    }
+}
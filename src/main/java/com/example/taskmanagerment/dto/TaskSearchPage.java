@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.dto;
+
+import java.util.List;
+
+// One page of ranked search results; nextOffset is null on the last page
+public record TaskSearchPage<T>(List<T> items, long total, Integer nextOffset) {
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+
+import java.util.Map;
+
+// Task counts for the overview page; tasks without a status or priority only count towards total
+public record TaskStats(long total, Map<TaskStatus, Long> byStatus, Map<Priority, Long> byPriority, long overdue) {
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanagerment.dto;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+// List-view projection of a task: selected column by column, never loaded as an entity, no description
+public record TaskSummary(Long id, String title, TaskStatus status, Priority priority, LocalDate dueDate) {
+}
@@ -2,6 +2,7 @@ package com.example.taskmanagerment.entity;
 
 import com.example.taskmanagerment.enums.Priority;
 import com.example.taskmanagerment.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -9,17 +10,25 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_status_priority_due", columnList = "status, priority, due_date"),
+        @Index(name = "idx_task_due_status", columnList = "due_date, status")
+})
 public class Task {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can assign ids up front and batch INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is mandatory")
     @Size(min=3, max=100)
     private String title;
 
+    // Column limit checked up front: a write-behind create is acknowledged before it is inserted
     @NotBlank(message = "Description is mandatory")
+    @Size(max = 255)
     private String description;
 
     @Enumerated(EnumType.STRING)
@@ -30,6 +39,11 @@ public class Task {
 
     private LocalDate dueDate;
 
+    // Optimistic-lock version; also the ETag of the task. Never taken from request bodies.
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -77,4 +91,12 @@ public class Task {
     public void setDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.enums;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
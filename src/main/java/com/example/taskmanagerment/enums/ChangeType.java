@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
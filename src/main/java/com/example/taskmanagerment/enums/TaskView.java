@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.enums;
+
+// Shape of list responses: SUMMARY (TaskSummary rows) or FULL (whole tasks)
+public enum TaskView {
+    SUMMARY,
+    FULL
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanagerment.event;
+
+// In-memory view derived from the task table and kept current by TaskChangedEvents.
+// ViewRebuilder loads every view at startup; rebuild() may also be called later to resynchronise.
+public interface RebuildableView {
+
+    void rebuild();
+}
@@ -0,0 +1,20 @@
+package com.example.taskmanagerment.event;
+
+import com.example.taskmanagerment.enums.ChangeType;
+
+// Published by TaskService for every write; before is null for CREATED, after is null for DELETED.
+// Listeners use @TransactionalEventListener so they only see committed changes.
+public record TaskChangedEvent(ChangeType type, long id, TaskSnapshot before, TaskSnapshot after) {
+
+    public static TaskChangedEvent created(TaskSnapshot after) {
+        return new TaskChangedEvent(ChangeType.CREATED, after.id(), null, after);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangedEvent(ChangeType.UPDATED, after.id(), before, after);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot before) {
+        return new TaskChangedEvent(ChangeType.DELETED, before.id(), before, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.event;
+
+import java.time.LocalDate;
+
+// Published once when an open task passes its due date (or is saved with a due date already past)
+public record TaskOverdueEvent(long id, LocalDate dueDate) {
+}
@@ -0,0 +1,41 @@
+package com.example.taskmanagerment.event;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+// Immutable copy of a task row at one point in time
+public record TaskSnapshot(Long id, String title, String description, TaskStatus status, Priority priority,
+                           LocalDate dueDate, Long version) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getVersion());
+    }
+
+    public Task toTask() {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        task.setVersion(version);
+        return task;
+    }
+
+    // The row as it looks after a successful single-statement patch (which also bumps the version)
+    public TaskSnapshot apply(TaskPatch patch) {
+        return new TaskSnapshot(id,
+                patch.title() != null ? patch.title() : title,
+                patch.description() != null ? patch.description() : description,
+                patch.status() != null ? patch.status() : status,
+                patch.priority() != null ? patch.priority() : priority,
+                patch.dueDate() != null ? patch.dueDate() : dueDate,
+                version == null ? 1L : version + 1);
+    }
+}
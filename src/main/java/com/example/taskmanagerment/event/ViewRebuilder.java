@@ -0,0 +1,39 @@
+package com.example.taskmanagerment.event;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Rebuilds all RebuildableViews in parallel before the application starts serving, so startup on
+// a large store costs the slowest table scan rather than the sum of them
+@Component
+public class ViewRebuilder implements SmartInitializingSingleton {
+
+    private final List<RebuildableView> views;
+
+    public ViewRebuilder(List<RebuildableView> views) {
+        this.views = views;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> rebuilds = views.stream()
+                    .<Future<?>>map(view -> executor.submit(view::rebuild))
+                    .toList();
+            for (Future<?> rebuild : rebuilds) {
+                rebuild.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rebuilding in-memory task views failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding in-memory task views", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanagerment.exception;
+
+// A request the client has to change before retrying; answered with 400 and this message
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,39 +1,120 @@
 package com.example.taskmanagerment.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    // One counter per exception type, created on first use so the error path does no meter lookup
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
     // Handle Task Not Found Exception
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<String> handleTaskNotFound(TaskNotFoundException ex) {
+        countError(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    // Handle If-Match precondition failures
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<String> handleVersionMismatch(TaskVersionMismatchException ex) {
+        countError(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Handle concurrent updates detected by the @Version check at flush time
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        countError(ex);
+        return new ResponseEntity<>("Task was modified concurrently, reload and retry", HttpStatus.CONFLICT);
+    }
+
+    // Handle an Idempotency-Key reused with a different request body
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<String> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        countError(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    // Handle a full write-behind queue: the client should back off and retry
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<String> handleWriteBehindQueueFull(WriteBehindQueueFullException ex) {
+        countError(ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getMessage());
+    }
+
     // Handle Validation Errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<String> handleValidationErrors(MethodArgumentNotValidException ex) {
+        countError(ex);
         return new ResponseEntity<>("Validation failed: " + ex.getBindingResult().getAllErrors().get(0).getDefaultMessage(), HttpStatus.BAD_REQUEST);
     }
 
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<String> handleInvalidEnum(HttpMessageNotReadableException ex) {
+        countError(ex);
         if (ex.getMessage().contains("TaskStatus")) {
             return new ResponseEntity<>("Invalid value for 'status'. Allowed values: PENDING, IN_PROGRESS, COMPLETED", HttpStatus.BAD_REQUEST);
         }
         return new ResponseEntity<>("Malformed JSON request: " + ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    // Handle bad query/path parameters (e.g. unknown enum value in a filter)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        countError(ex);
+        return new ResponseEntity<>("Invalid value for '" + ex.getName() + "': " + ex.getValue(), HttpStatus.BAD_REQUEST);
+    }
+
+    // Handle missing required query parameters
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<String> handleMissingParameter(MissingServletRequestParameterException ex) {
+        countError(ex);
+        return new ResponseEntity<>("Missing required parameter '" + ex.getParameterName() + "'", HttpStatus.BAD_REQUEST);
+    }
+
+    // Handle requests rejected by service checks (e.g. oversized batch). Any other
+    // IllegalArgumentException is a bug and falls through to the generic handler.
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequest(BadRequestException ex) {
+        countError(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     // Handle generic exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
+        countError(ex);
         return new ResponseEntity<>("Internal Server Error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private void countError(Exception ex) {
+        errorCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder("tasks.errors")
+                        .description("Exceptions handled by GlobalExceptionHandler")
+                        .tag("exception", type.getSimpleName())
+                        .register(meterRegistry))
+                .increment();
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanagerment.feed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded multi-producer ring of the most recent changes, addressed by sequence number (first is 1).
+// Lock-free: a producer claims a sequence, then stores into its slot. Readers keep their own cursor
+// and can tell from the stored sequence whether a slot is not written yet or already overwritten.
+final class ChangeRing<T> {
+
+    record Slot<T>(long sequence, T value) {
+    }
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+
+    ChangeRing(int minimumCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(minimumCapacity - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    long publish(T value) {
+        long sequence = claimed.incrementAndGet();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, value));
+        return sequence;
+    }
+
+    // Highest sequence handed out; its slot may still be in the middle of being written
+    long head() {
+        return claimed.get();
+    }
+
+    // Oldest sequence that may still be readable
+    long oldest() {
+        return Math.max(1, claimed.get() - mask);
+    }
+
+    // The slot that holds or will hold the sequence: a lower sequence (or null) means not written yet,
+    // a higher one means the reader was lapped
+    Slot<T> slotFor(long sequence) {
+        return slots.get((int) (sequence & mask));
+    }
+}
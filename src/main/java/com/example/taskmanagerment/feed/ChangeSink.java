@@ -0,0 +1,19 @@
+package com.example.taskmanagerment.feed;
+
+import com.example.taskmanagerment.dto.TaskChange;
+
+import java.io.IOException;
+
+// One subscriber connection of the change feed. Calls for one sink never overlap.
+public interface ChangeSink {
+
+    void send(String eventId, TaskChange change) throws IOException;
+
+    // The subscriber missed changes and must reload before reconnecting without Last-Event-ID
+    void resync(String reason) throws IOException;
+
+    void close();
+
+    // Register the action to run when the connection goes away on its own (timeout, client disconnect)
+    void onClose(Runnable action);
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagerment.feed;
+
+import com.example.taskmanagerment.dto.TaskChange;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+// ChangeSink over a Server-Sent Events response: "task" events carry a TaskChange, "resync" ends the stream
+public class SseChangeSink implements ChangeSink {
+
+    private final SseEmitter emitter;
+
+    public SseChangeSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(String eventId, TaskChange change) throws IOException {
+        emitter.send(SseEmitter.event().id(eventId).name("task").data(change, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void resync(String reason) throws IOException {
+        emitter.send(SseEmitter.event().name("resync").data(reason));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+
+    @Override
+    public void onClose(Runnable action) {
+        emitter.onCompletion(action);
+        emitter.onTimeout(action);
+        emitter.onError(error -> action.run());
+    }
+}
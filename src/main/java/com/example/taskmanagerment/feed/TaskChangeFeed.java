@@ -0,0 +1,179 @@
+package com.example.taskmanagerment.feed;
+
+import com.example.taskmanagerment.dto.TaskChange;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Fans committed task changes out to /api/tasks/changes subscribers.
+// Writers only append to a ChangeRing and wake subscribers; each subscriber drains the ring from its own
+// cursor on a virtual thread, so a slow client never delays the writer or the other subscribers.
+// A subscriber that falls more than a ring's length behind is sent "resync" and disconnected.
+@Component
+public class TaskChangeFeed implements DisposableBean {
+
+    private final ChangeRing<TaskChangedEvent> ring;
+    // Event ids are "<epoch>:<sequence>"; a different epoch means the ids come from before a restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter resyncs;
+
+    public TaskChangeFeed(@Value("${tasks.changes.buffer-size:4096}") int bufferSize,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.ring = new ChangeRing<>(bufferSize);
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder("tasks.changes.subscribers", subscriptions, Set::size)
+                .description("Open change feed connections")
+                .register(registry);
+        this.resyncs = Counter.builder("tasks.changes.resyncs")
+                .description("Change feed subscribers told to resync")
+                .register(registry);
+    }
+
+    // Runs after commit (or straight away when there is no transaction); rolled-back writes are never sent
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        ring.publish(event);
+        for (Subscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    // Start streaming to the sink. With a Last-Event-ID still in the ring the stream resumes right after it;
+    // an unknown or expired id gets "resync" instead.
+    public void subscribe(ChangeSink sink, String lastEventId) {
+        Subscription subscription = new Subscription(sink);
+        if (lastEventId == null || lastEventId.isBlank()) {
+            subscription.next = ring.head() + 1;
+        } else {
+            long resumeAfter = parseSequence(lastEventId);
+            if (resumeAfter < 0 || resumeAfter + 1 < ring.oldest() || resumeAfter > ring.head()) {
+                subscription.resync("Last-Event-ID " + lastEventId + " is no longer available");
+                return;
+            }
+            subscription.next = resumeAfter + 1;
+        }
+        sink.onClose(subscription::cancel);
+        subscriptions.add(subscription);
+        subscription.signal();
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        subscriptions.forEach(Subscription::cancel);
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf(':');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static TaskChange toChange(TaskChangedEvent event) {
+        return new TaskChange(event.type(), event.id(), event.after());
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final ChangeSink sink;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Next sequence to send; only touched by the drain task once subscribed
+        private long next;
+
+        private Subscription(ChangeSink sink) {
+            this.sink = sink;
+        }
+
+        void signal() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                drain();
+                scheduled.set(false);
+                // A change published after the drain stopped may have signalled while we were still scheduled
+            } while (!closed.get() && hasNext() && scheduled.compareAndSet(false, true));
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    ChangeRing.Slot<TaskChangedEvent> slot = ring.slotFor(next);
+                    if (slot == null || slot.sequence() < next) {
+                        return;
+                    }
+                    if (slot.sequence() > next) {
+                        resync("Subscriber fell more than " + ring.capacity() + " changes behind");
+                        return;
+                    }
+                    sink.send(epoch + ":" + next, toChange(slot.value()));
+                    next++;
+                }
+            } catch (Exception e) {
+                // Client went away mid-send
+                cancel();
+            }
+        }
+
+        private boolean hasNext() {
+            ChangeRing.Slot<TaskChangedEvent> slot = ring.slotFor(next);
+            return slot != null && slot.sequence() >= next;
+        }
+
+        void resync(String reason) {
+            resyncs.increment();
+            try {
+                sink.resync(reason);
+            } catch (Exception e) {
+                // Closing anyway
+            }
+            cancel();
+        }
+
+        void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                try {
+                    sink.close();
+                } catch (Exception e) {
+                    // Connection already gone
+                }
+            }
+        }
+    }
+}
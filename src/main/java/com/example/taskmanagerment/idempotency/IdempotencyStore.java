@@ -0,0 +1,189 @@
+package com.example.taskmanagerment.idempotency;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.exception.BadRequestException;
+import com.example.taskmanagerment.exception.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Idempotency-Key handling for POST /api/tasks. Keys map to a future of the first request's response in a
+// size-bounded Caffeine map that expires keys after tasks.idempotency.ttl:
+// - the first request with a key runs the create and completes the future;
+// - a duplicate arriving meanwhile waits on that future instead of creating a second task;
+// - a later duplicate gets the stored response back without any database access.
+// If the create fails the key is released, so a retry runs it again. With tasks.idempotency.persistent the
+// responses are also written to the idempotency_key table, which is consulted when a key is not in memory.
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    private final Duration ttl;
+    private final boolean persistent;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter replayed;
+
+    public IdempotencyStore(@Value("${tasks.idempotency.max-keys:50000}") long maxKeys,
+                            @Value("${tasks.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${tasks.idempotency.persistent:false}") boolean persistent,
+                            JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        this.ttl = ttl;
+        this.persistent = persistent;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.replayed = Counter.builder("tasks.idempotency.replayed")
+                .description("Requests answered from a stored Idempotency-Key response")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    // Run create once per key; every other request with the key gets the same response, marked as replayed
+    public ResponseEntity<Task> execute(String key, Task request, Supplier<ResponseEntity<Task>> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = responses.asMap().putIfAbsent(key, mine);
+            if (first == null) {
+                return runFirst(key, fingerprint, mine, create);
+            }
+            try {
+                return replay(key, fingerprint, first.join());
+            } catch (CompletionException e) {
+                // The first attempt failed and released the key; compete to run it again
+            }
+        }
+    }
+
+    private ResponseEntity<Task> runFirst(String key, String fingerprint, CompletableFuture<StoredResponse> mine,
+                                          Supplier<ResponseEntity<Task>> create) {
+        try {
+            Optional<StoredResponse> saved = persistent ? load(key) : Optional.empty();
+            if (saved.isPresent()) {
+                mine.complete(saved.get());
+                return replay(key, fingerprint, saved.get());
+            }
+            ResponseEntity<Task> response = create.get();
+            StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                    response.getHeaders().getFirst(HttpHeaders.LOCATION), TaskSnapshot.of(response.getBody()));
+            if (persistent) {
+                save(key, stored);
+            }
+            mine.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            responses.asMap().remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private ResponseEntity<Task> replay(String key, String fingerprint, StoredResponse stored) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(HEADER + " " + key + " was already used for a different request");
+        }
+        replayed.increment();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.valueOf(stored.status()))
+                .header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            response.header(HttpHeaders.LOCATION, stored.location());
+        }
+        return response.body(stored.task().toTask());
+    }
+
+    // Drop table rows that have outlived the TTL (the in-memory keys expire on their own)
+    @Scheduled(fixedDelayString = "${tasks.idempotency.purge-interval:PT1H}")
+    public int purgeExpired() {
+        if (!persistent) {
+            return 0;
+        }
+        return jdbcTemplate.update("delete from idempotency_key where created_at < ?", Timestamp.from(Instant.now().minus(ttl)));
+    }
+
+    private Optional<StoredResponse> load(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "select fingerprint, status, location, response from idempotency_key where idempotency_key = ? and created_at >= ?",
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3),
+                        readSnapshot(rs.getString(4))),
+                key, Timestamp.from(Instant.now().minus(ttl)));
+        return rows.stream().findFirst();
+    }
+
+    // The task already exists at this point, so a failed write only costs durability of the key
+    private void save(String key, StoredResponse stored) {
+        try {
+            jdbcTemplate.update("merge into idempotency_key (idempotency_key, fingerprint, status, location, response, created_at) "
+                            + "key (idempotency_key) values (?, ?, ?, ?, ?, ?)",
+                    key, stored.fingerprint(), stored.status(), stored.location(),
+                    objectMapper.writeValueAsString(stored.task()), Timestamp.from(Instant.now()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not persist {} {}: {}", HEADER, key, e.getMessage());
+        }
+    }
+
+    private TaskSnapshot readSnapshot(String json) {
+        try {
+            return objectMapper.readValue(json, TaskSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response", e);
+        }
+    }
+
+    // SHA-256 over the fields a create uses, each length-prefixed so field boundaries cannot shift
+    static String fingerprint(Task request) {
+        StringBuilder text = new StringBuilder();
+        for (Object field : new Object[]{request.getTitle(), request.getDescription(), request.getStatus(),
+                request.getPriority(), request.getDueDate()}) {
+            String value = field == null ? null : field.toString();
+            text.append(value == null ? "-" : value.length() + ":" + value).append('|');
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanagerment.idempotency;
+
+import com.example.taskmanagerment.event.TaskSnapshot;
+
+// What the first request with an Idempotency-Key got back, plus a hash of its body to catch key reuse
+public record StoredResponse(String fingerprint, int status, String location, TaskSnapshot task) {
+}
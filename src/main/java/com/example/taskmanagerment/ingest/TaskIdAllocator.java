@@ -0,0 +1,47 @@
+package com.example.taskmanagerment.ingest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hands out task ids in blocks taken from task_seq, the same way Hibernate's pooled optimizer does:
+// a sequence value hi reserves (hi - BLOCK_SIZE, hi], so ids never collide with ones Hibernate assigns.
+// Ids within a block come from an AtomicLong without locking. Only the refill takes a ReentrantLock,
+// not a monitor, so a virtual thread waiting on the sequence query does not pin its carrier.
+public class TaskIdAllocator {
+
+    // Must match the sequence increment and Task's allocationSize
+    static final int BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock refill = new ReentrantLock();
+    private volatile Block block = new Block(new AtomicLong(1), 0);
+
+    public TaskIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long next() {
+        while (true) {
+            Block current = block;
+            long id = current.next().getAndIncrement();
+            if (id <= current.hi()) {
+                return id;
+            }
+            refill.lock();
+            try {
+                // Another thread may have refilled while we waited
+                if (block == current) {
+                    Long hi = jdbcTemplate.queryForObject("select next value for task_seq", Long.class);
+                    block = new Block(new AtomicLong(Math.max(1, hi - BLOCK_SIZE + 1)), hi);
+                }
+            } finally {
+                refill.unlock();
+            }
+        }
+    }
+
+    private record Block(AtomicLong next, long hi) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.taskmanagerment.ingest;
+
+import com.example.taskmanagerment.config.CacheConfig;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.exception.WriteBehindQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Optional write-behind path for task creation (tasks.write-behind.enabled=true).
+// submit() gives the task an id from a pre-allocated block and queues it; one flusher thread drains the
+// queue and inserts up to batch-size rows per JDBC batch, one transaction per batch. Until its batch commits
+// a task is served from the pending map, and updates/deletes of it wait for the flush.
+// A full queue rejects new tasks after offer-timeout (the caller gets 503); on shutdown the queue is drained.
+// A task is readable from the moment it is submitted, so a rejected or dropped one is also evicted from the cache.
+@Component
+public class TaskWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    private static final String INSERT = "insert into task (id, title, description, status, priority, due_date, version) "
+            + "values (?, ?, ?, ?, ?, ?, 0)";
+
+    private record Pending(Task task, CompletableFuture<Void> flushed) {
+    }
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final TaskIdAllocator idAllocator;
+    private final BlockingQueue<Pending> queue;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter failed;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TaskWriteBehind(@Value("${tasks.write-behind.enabled:false}") boolean enabled,
+                           @Value("${tasks.write-behind.queue-capacity:10000}") int queueCapacity,
+                           @Value("${tasks.write-behind.batch-size:500}") int batchSize,
+                           @Value("${tasks.write-behind.offer-timeout:PT0.1S}") Duration offerTimeout,
+                           @Value("${tasks.write-behind.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher, ObjectProvider<CacheManager> cacheManager,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.idAllocator = new TaskIdAllocator(jdbcTemplate);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder("tasks.write-behind.queued", queue, BlockingQueue::size)
+                .description("Tasks accepted but not yet written")
+                .register(registry);
+        this.rejected = Counter.builder("tasks.write-behind.rejected")
+                .description("Tasks refused because the write-behind queue was full")
+                .register(registry);
+        this.failed = Counter.builder("tasks.write-behind.failed")
+                .description("Queued tasks that could not be inserted")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Queue a validated task; returns it with its id and version 0 as it will be stored
+    public Task submit(Task task) {
+        if (!accepting) {
+            throw new WriteBehindQueueFullException("Write-behind queue is not accepting tasks");
+        }
+        Task queued = copy(task);
+        queued.setId(idAllocator.next());
+        queued.setVersion(0L);
+        Pending entry = new Pending(queued, new CompletableFuture<>());
+        pending.put(queued.getId(), entry);
+        try {
+            if (queue.offer(entry, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return copy(queued);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.remove(queued.getId());
+        // It was readable while the offer waited, so getTaskById may have cached it
+        evictCached(queued.getId());
+        rejected.increment();
+        throw new WriteBehindQueueFullException("Too many tasks waiting to be written, retry later");
+    }
+
+    // A queued task that has not been written yet (a copy, so callers cannot change what gets inserted)
+    public Optional<Task> findPending(Long id) {
+        Pending entry = pending.get(id);
+        return entry == null ? Optional.empty() : Optional.of(copy(entry.task()));
+    }
+
+    // Wait until the task with this id is written (or has failed); returns at once if it is not queued
+    public void awaitFlushed(Long id) {
+        Pending entry = pending.get(id);
+        if (entry != null) {
+            entry.flushed().exceptionally(e -> null).join();
+        }
+    }
+
+    // Wait until every task queued so far is written (or has failed)
+    public void awaitFlushed() {
+        CompletableFuture<?>[] flushed = pending.values().stream()
+                .map(entry -> entry.flushed().exceptionally(e -> null))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(flushed).join();
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        accepting = true;
+        flusher = Thread.ofPlatform().name("task-write-behind").daemon().start(this::flushLoop);
+    }
+
+    // Stop taking tasks and wait for the flusher to empty the queue. Whatever is left after
+    // shutdown-timeout (or was offered while stopping) is written on this thread.
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        running = false;
+        try {
+            flusher.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("Write-behind flusher did not finish within {}, {} tasks still queued", shutdownTimeout, queue.size());
+            flusher.interrupt();
+        }
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(from + batchSize, rest.size())));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (no more submits) and before the DataSource is closed
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind flush failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One transaction for the whole batch; if it fails, retry row by row so one bad task does not sink the rest
+    private void flush(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, entry) -> bind(ps, entry.task()));
+                for (Pending entry : batch) {
+                    eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(entry.task())));
+                }
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                for (Pending entry : batch) {
+                    flush(List.of(entry));
+                }
+            } else {
+                fail(batch.get(0), e);
+            }
+            return;
+        }
+        for (Pending entry : batch) {
+            pending.remove(entry.task().getId(), entry);
+            entry.flushed().complete(null);
+        }
+    }
+
+    private void fail(Pending entry, RuntimeException e) {
+        Long id = entry.task().getId();
+        log.warn("Dropping queued task {}: {}", id, e.getMessage());
+        failed.increment();
+        pending.remove(id, entry);
+        evictCached(id);
+        entry.flushed().completeExceptionally(e);
+    }
+
+    // getTaskById may have cached the queued copy of a task that will never be written
+    private void evictCached(Long id) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null ? null : manager.getCache(CacheConfig.TASK_CACHE);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Task task) throws SQLException {
+        ps.setLong(1, task.getId());
+        ps.setString(2, task.getTitle());
+        ps.setString(3, task.getDescription());
+        ps.setString(4, task.getStatus() == null ? null : task.getStatus().name());
+        ps.setString(5, task.getPriority() == null ? null : task.getPriority().name());
+        if (task.getDueDate() == null) {
+            ps.setNull(6, Types.DATE);
+        } else {
+            ps.setObject(6, task.getDueDate());
+        }
+    }
+
+    private static Task copy(Task source) {
+        Task task = new Task();
+        task.setId(source.getId());
+        task.setTitle(source.getTitle());
+        task.setDescription(source.getDescription());
+        task.setStatus(source.getStatus());
+        task.setPriority(source.getPriority());
+        task.setDueDate(source.getDueDate());
+        task.setVersion(source.getVersion());
+        return task;
+    }
+}
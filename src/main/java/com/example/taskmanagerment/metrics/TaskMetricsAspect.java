@@ -0,0 +1,81 @@
+package com.example.taskmanagerment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Latency histograms for TaskService/TaskBatchService and TaskRepository calls.
+// Timers are resolved once per method and cached, so the hot path is a map lookup,
+// two System.nanoTime() calls and a lock-free histogram record - no tag or meter allocation.
+@Aspect
+@Component
+public class TaskMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Method, MethodTimers> repositoryTimers = new ConcurrentHashMap<>();
+
+    public TaskMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.example.taskmanagerment.service.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, serviceTimers, "tasks.service");
+    }
+
+    // Whichever TaskStore backs the services (tasks.store) is timed under the same name
+    @Around("execution(public * com.example.taskmanagerment.repository.TaskRepository+.*(..))"
+            + " || execution(public * com.example.taskmanagerment.store.*TaskStore.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, repositoryTimers, "tasks.repository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, Map<Method, MethodTimers> cache, String name) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers timers = cache.get(method);
+        if (timers == null) {
+            timers = cache.computeIfAbsent(method, m -> new MethodTimers(meterRegistry, name, m.getName()));
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private static final class MethodTimers {
+
+        private final Timer success;
+        private final Timer error;
+
+        private MethodTimers(MeterRegistry registry, String name, String method) {
+            this.success = timer(registry, name, method, "success");
+            this.error = timer(registry, name, method, "error");
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String method, String outcome) {
+            return Timer.builder(name)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(50_000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+    }
+}
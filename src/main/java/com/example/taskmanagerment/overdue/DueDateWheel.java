@@ -0,0 +1,109 @@
+package com.example.taskmanagerment.overdue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+// Timing wheel with one slot per day: task ids due within the next SLOTS days sit in the slot of their
+// due day, later ones in an overflow map that feeds the wheel one day at a time as the horizon moves.
+// Scheduling and each day's tick are O(1) amortized. Entries are never removed: a task that is
+// rescheduled or completed is simply added again (or not), and the caller drops stale ids when a slot
+// fires, which keeps updates and deletes free. Not thread-safe.
+public final class DueDateWheel {
+
+    public static final int SLOTS = 1024;
+
+    private final LongList[] slots = new LongList[SLOTS];
+    private final TreeMap<LocalDate, LongList> overflow = new TreeMap<>();
+    // Ids scheduled for a day that had already passed; they fire on the next advance
+    private final TreeMap<LocalDate, LongList> late = new TreeMap<>();
+    private LocalDate today;
+    private long size;
+
+    public DueDateWheel(LocalDate today) {
+        this.today = today;
+    }
+
+    public LocalDate today() {
+        return today;
+    }
+
+    // Entries currently held, stale ones included
+    public long size() {
+        return size;
+    }
+
+    public void clear(LocalDate today) {
+        Arrays.fill(slots, null);
+        overflow.clear();
+        late.clear();
+        this.today = today;
+        size = 0;
+    }
+
+    // The task becomes overdue once the day after dueDate starts
+    public void schedule(long id, LocalDate dueDate) {
+        size++;
+        if (dueDate.isBefore(today)) {
+            late.computeIfAbsent(dueDate, day -> new LongList()).add(id);
+        } else if (dueDate.toEpochDay() - today.toEpochDay() < SLOTS) {
+            int slot = slotOf(dueDate);
+            if (slots[slot] == null) {
+                slots[slot] = new LongList();
+            }
+            slots[slot].add(id);
+        } else {
+            overflow.computeIfAbsent(dueDate, day -> new LongList()).add(id);
+        }
+    }
+
+    // Hand every id whose due day is before newToday to expired, grouped by due day (ids may repeat)
+    public void advanceTo(LocalDate newToday, BiConsumer<LocalDate, long[]> expired) {
+        for (Map.Entry<LocalDate, LongList> entry : late.entrySet()) {
+            fire(entry.getKey(), entry.getValue(), expired);
+        }
+        late.clear();
+
+        while (today.isBefore(newToday)) {
+            int slot = slotOf(today);
+            if (slots[slot] != null) {
+                fire(today, slots[slot], expired);
+                slots[slot] = null;
+            }
+            today = today.plusDays(1);
+            // The slot just freed now stands for the day entering the horizon
+            LongList entering = overflow.remove(today.plusDays(SLOTS - 1));
+            if (entering != null) {
+                slots[slotOf(today.plusDays(SLOTS - 1))] = entering;
+            }
+        }
+    }
+
+    private void fire(LocalDate day, LongList ids, BiConsumer<LocalDate, long[]> expired) {
+        size -= ids.size;
+        expired.accept(day, ids.toArray());
+    }
+
+    private static int slotOf(LocalDate day) {
+        return (int) Math.floorMod(day.toEpochDay(), (long) SLOTS);
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.taskmanagerment.overdue;
+
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.RebuildableView;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskOverdueEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.store.TaskStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Publishes a TaskOverdueEvent when an open task passes its due date, without scanning the table.
+// Open tasks are kept in a DueDateWheel fed by TaskChangedEvents; each tick fires the days that ended
+// and confirms the fired ids with one primary-key lookup per chunk, which drops stale entries.
+@Component
+public class OverdueTaskScheduler implements RebuildableView {
+
+    static final int VERIFY_CHUNK_SIZE = 1000;
+
+    private final TaskStore taskStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter detected;
+    private final Clock clock;
+    // Guards wheel and missedByRebuild; held only for in-memory work, never across a query
+    private final Object lock = new Object();
+    // Serializes rebuilds, which scan the table without holding lock
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private DueDateWheel wheel;
+    // Tasks scheduled while a rebuild scans, replayed into its wheel; null when no rebuild runs
+    private List<Missed> missedByRebuild;
+
+    @Autowired
+    public OverdueTaskScheduler(TaskStore taskStore, ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(taskStore, eventPublisher, transactionManager, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    OverdueTaskScheduler(TaskStore taskStore, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager, ObjectProvider<MeterRegistry> meterRegistry,
+                         Clock clock) {
+        this.taskStore = taskStore;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.detected = Counter.builder("tasks.overdue.detected")
+                .description("Tasks that passed their due date while open")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        this.clock = clock;
+        this.wheel = new DueDateWheel(LocalDate.now(clock));
+    }
+
+    // Reload open tasks due today or later with one range scan on idx_task_due_status.
+    // Tasks already overdue are left out: they did not become overdue while we were watching.
+    // The scan fills a new wheel outside lock, so ticks and events keep running meanwhile; the new
+    // wheel is swapped in under lock together with whatever was scheduled during the scan.
+    @Override
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            LocalDate today = LocalDate.now(clock);
+            DueDateWheel rebuilt = new DueDateWheel(today);
+            synchronized (lock) {
+                missedByRebuild = new ArrayList<>();
+            }
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = taskStore.streamOpenDueFrom(today, TaskStatus.COMPLETED)) {
+                        rows.forEach(row -> rebuilt.schedule(((Number) row[0]).longValue(), (LocalDate) row[1]));
+                    }
+                });
+                synchronized (lock) {
+                    // Days a tick fired during the scan are not fired again
+                    rebuilt.advanceTo(wheel.today(), (day, ids) -> { });
+                    for (Missed missed : missedByRebuild) {
+                        rebuilt.schedule(missed.id(), missed.dueDate());
+                    }
+                    wheel = rebuilt;
+                }
+            } finally {
+                synchronized (lock) {
+                    missedByRebuild = null;
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Runs after commit (or straight away when there is no transaction). Old entries are not removed;
+    // they are filtered out when their day fires.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot after = event.after();
+        if (after == null || !isOpen(after) || after.dueDate() == null) {
+            return;
+        }
+        TaskSnapshot before = event.before();
+        if (before != null && isOpen(before) && after.dueDate().equals(before.dueDate())) {
+            return; // already scheduled for that day
+        }
+        synchronized (lock) {
+            wheel.schedule(after.id(), after.dueDate());
+            if (missedByRebuild != null) {
+                missedByRebuild.add(new Missed(after.id(), after.dueDate()));
+            }
+        }
+    }
+
+    // Cheap when the date has not changed: only ids saved with a past due date are checked
+    @Scheduled(fixedDelayString = "${tasks.overdue.check-interval:PT1M}")
+    public int tick() {
+        List<Expired> expired = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advanceTo(LocalDate.now(clock), (day, ids) -> expired.add(new Expired(day, ids)));
+        }
+        int published = 0;
+        for (Expired batch : expired) {
+            long[] ids = Arrays.stream(batch.ids()).sorted().distinct().toArray();
+            for (int from = 0; from < ids.length; from += VERIFY_CHUNK_SIZE) {
+                List<Long> chunk = Arrays.stream(ids, from, Math.min(from + VERIFY_CHUNK_SIZE, ids.length)).boxed().toList();
+                for (Long id : taskStore.findIdsOpenAndDueOn(chunk, batch.dueDate(), TaskStatus.COMPLETED)) {
+                    eventPublisher.publishEvent(new TaskOverdueEvent(id, batch.dueDate()));
+                    published++;
+                }
+            }
+        }
+        detected.increment(published);
+        return published;
+    }
+
+    // Entries currently scheduled, stale ones included
+    public long pending() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    // Same rule as getOverdueTasks(): a task without status never becomes overdue
+    private static boolean isOpen(TaskSnapshot task) {
+        return task.status() != null && task.status() != TaskStatus.COMPLETED;
+    }
+
+    private record Missed(long id, LocalDate dueDate) {
+    }
+
+    private record Expired(LocalDate dueDate, long[] ids) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanagerment.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+// Chooses where a connection goes. LazyConnectionDataSourceProxy asks at the first statement, when Spring has
+// already marked the transaction read-only or not (Hibernate releases connections after each transaction, so
+// it does not flag them read-only itself):
+// - the primary for read-write transactions and work outside any transaction;
+// - the primary while handling a POST/PUT/PATCH/DELETE, so a request that writes reads its own writes and
+//   the versions it is about to update;
+// - the primary while the replica lags more than max-lag behind;
+// - the replica otherwise.
+// The choice is made once per physical connection, i.e. once per read-only transaction.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final LongSupplier lagNanos;
+    private final long maxLagNanos;
+    private final Counter replicaReads;
+    private final Counter lagFallbacks;
+    private final Counter writeRequestFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, LongSupplier lagNanos, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.lagNanos = lagNanos;
+        this.maxLagNanos = maxLag.toNanos();
+        this.replicaReads = routed(meterRegistry, "replica", "caught_up");
+        this.lagFallbacks = routed(meterRegistry, "primary", "lag");
+        this.writeRequestFallbacks = routed(meterRegistry, "primary", "write_request");
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder("tasks.replica.reads")
+                .description("Read-only transactions by the database they were routed to")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (isWriteRequest()) {
+            writeRequestFallbacks.increment();
+            return Route.PRIMARY;
+        }
+        if (lagNanos.getAsLong() > maxLagNanos) {
+            lagFallbacks.increment();
+            return Route.PRIMARY;
+        }
+        replicaReads.increment();
+        return Route.REPLICA;
+    }
+
+    // Work outside a request (schedulers, exports streaming on their own thread) counts as reading
+    private static boolean isWriteRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && !READ_METHODS.contains(attributes.getRequest().getMethod());
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.taskmanagerment.replica;
+
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Stand-in for database replication, so replica routing can run against a second embedded H2 database:
+// on start the replica gets the schema (Flyway) and a copy of the task table, then every committed task
+// change is applied on one background thread, apply-delay after its commit (to simulate replication lag).
+// Lag is the age of the oldest change not yet applied; until a copy is done it is unbounded.
+//
+// After-commit listeners run in whatever order the committing threads reach them, so the queue is not in
+// commit order. Applying a change therefore re-reads the task's current row from the primary instead of
+// trusting the event: a late event for an old version or a deleted task then changes nothing. The upsert
+// is also version-guarded, so the replica row never moves back to an older version. A change that cannot
+// be applied marks the replica out of sync (reads go to the primary) until a fresh copy is done.
+public class ReplicaSynchronizer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSynchronizer.class);
+
+    private static final int COPY_CHUNK = 1000;
+    private static final String COLUMNS = "id, title, description, status, priority, due_date, version";
+    private static final String UPSERT = """
+            merge into task t
+            using (values (cast(? as bigint), ?, ?, ?, ?, cast(? as date), cast(? as bigint)))
+                s(id, title, description, status, priority, due_date, version)
+            on t.id = s.id
+            when matched and coalesce(s.version, -1) > coalesce(t.version, -1) then update
+                set title = s.title, description = s.description, status = s.status, priority = s.priority,
+                    due_date = s.due_date, version = s.version
+            when not matched then insert (id, title, description, status, priority, due_date, version)
+                values (s.id, s.title, s.description, s.status, s.priority, s.due_date, s.version)""";
+    private static final RowMapper<Object[]> ROW = (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2),
+            rs.getString(3), rs.getString(4), rs.getString(5), rs.getObject(6, LocalDate.class),
+            rs.getObject(7, Long.class)};
+    private static final Duration RESYNC_RETRY = Duration.ofSeconds(1);
+
+    private record Change(TaskChangedEvent event, long committedAt) {
+    }
+
+    private final JdbcTemplate primary;
+    private final DataSource replicaDataSource;
+    private final JdbcTemplate replica;
+    private final long applyDelayNanos;
+    // Changes in listener order; the head stays queued until it is applied, so lagNanos() sees it
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private final Semaphore queued = new Semaphore(0);
+    private final Counter resyncs;
+
+    private volatile boolean synced;
+    private volatile boolean running;
+    private Thread applier;
+
+    public ReplicaSynchronizer(DataSource primaryDataSource, DataSource replicaDataSource, Duration applyDelay,
+                               MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replicaDataSource = replicaDataSource;
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.applyDelayNanos = applyDelay.toNanos();
+        Gauge.builder("tasks.replica.lag", this, synchronizer -> synchronizer.synced
+                        ? synchronizer.lagNanos() / 1e9 : Double.NaN)
+                .description("Age of the oldest committed change not yet on the replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("tasks.replica.resyncs")
+                .description("Full copies of the task table after a change could not be applied")
+                .register(meterRegistry);
+    }
+
+    public long lagNanos() {
+        if (!synced) {
+            return Long.MAX_VALUE;
+        }
+        Change oldest = changes.peek();
+        return oldest == null ? 0 : System.nanoTime() - oldest.committedAt();
+    }
+
+    // Runs after commit (or straight away when there is no transaction), like the other views
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        changes.add(new Change(event, System.nanoTime()));
+        queued.release();
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration").load().migrate();
+        copyTasks();
+        synced = true;
+        running = true;
+        applier = Thread.ofPlatform().name("task-replica-sync").daemon().start(this::applyLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            applier.join(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before the web server takes requests; stop after it, while both databases are still open
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // Changes committed during the copy are queued and applied afterwards; applying one is idempotent
+    private void copyTasks() {
+        replica.update("delete from task");
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            rows = primary.query("select " + COLUMNS + " from task where id > ? order by id limit ?", ROW,
+                    after, COPY_CHUNK);
+            if (!rows.isEmpty()) {
+                replica.batchUpdate(UPSERT, rows);
+                after = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == COPY_CHUNK);
+    }
+
+    private void applyLoop() {
+        while (running || !changes.isEmpty()) {
+            try {
+                if (!queued.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+                Change change = changes.peek();
+                long wait = change.committedAt() + applyDelayNanos - System.nanoTime();
+                if (wait > 0 && running) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                try {
+                    apply(change.event().id());
+                } catch (RuntimeException e) {
+                    log.warn("Could not apply {} of task {} to the replica, copying it again: {}",
+                            change.event().type(), change.event().id(), e.getMessage());
+                    resync();
+                }
+                changes.poll();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Brings the replica row for one task to the primary's current state (or removes it)
+    private void apply(long id) {
+        List<Object[]> rows = primary.query("select " + COLUMNS + " from task where id = ?", ROW, id);
+        if (rows.isEmpty()) {
+            replica.update("delete from task where id = ?", id);
+        } else {
+            replica.update(UPSERT, rows.get(0));
+        }
+    }
+
+    // Reads go to the primary until the copy succeeds; the copy covers every change committed before it
+    private void resync() throws InterruptedException {
+        synced = false;
+        resyncs.increment();
+        while (running) {
+            try {
+                copyTasks();
+                synced = true;
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not copy the task table to the replica: {}", e.getMessage());
+                Thread.sleep(RESYNC_RETRY);
+            }
+        }
+    }
+}
@@ -1,9 +1,151 @@
 package com.example.taskmanagerment.repository;
 
+import com.example.taskmanagerment.dto.TaskSummary;
 import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.store.TaskStore;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task,Long> {
+public interface TaskRepository extends JpaRepository<Task,Long>, TaskRepositoryCustom, TaskStore {
+
+    // TaskStore methods that JpaRepository also declares, redeclared so calls on TaskRepository are not ambiguous
+    @Override
+    <S extends Task> S save(S task);
+
+    @Override
+    <S extends Task> S saveAndFlush(S task);
+
+    @Override
+    void flush();
+
+    // Read-write, not read-only: replica routing only takes read-only transactions, and getTaskById caches
+    // what this returns for the whole TTL, so it must not read a replica that is a moment behind
+    @Override
+    @Transactional
+    Optional<Task> findById(Long id);
+
+    @Override
+    boolean existsById(Long id);
+
+    @Override
+    List<Task> findAll();
+
+    @Override
+    List<Task> findAllById(Iterable<Long> ids);
+
+    // Keyset page: tasks with id greater than the cursor, optionally filtered
+    @Query("""
+            select t from Task t
+            where t.id > :after
+              and (:status is null or t.status = :status)
+              and (:priority is null or t.priority = :priority)
+              and (:dueAfter is null or t.dueDate > :dueAfter)
+              and (:dueBefore is null or t.dueDate < :dueBefore)
+            order by t.id
+            """)
+    List<Task> findPageAfter(@Param("after") long after,
+                             @Param("status") TaskStatus status,
+                             @Param("priority") Priority priority,
+                             @Param("dueAfter") LocalDate dueAfter,
+                             @Param("dueBefore") LocalDate dueBefore,
+                             Limit limit);
+
+    // Same page as findPageAfter, selecting only the TaskSummary columns
+    @Query("""
+            select new com.example.taskmanagerment.dto.TaskSummary(t.id, t.title, t.status, t.priority, t.dueDate)
+            from Task t
+            where t.id > :after
+              and (:status is null or t.status = :status)
+              and (:priority is null or t.priority = :priority)
+              and (:dueAfter is null or t.dueDate > :dueAfter)
+              and (:dueBefore is null or t.dueDate < :dueBefore)
+            order by t.id
+            """)
+    List<TaskSummary> findSummaryPageAfter(@Param("after") long after,
+                                           @Param("status") TaskStatus status,
+                                           @Param("priority") Priority priority,
+                                           @Param("dueAfter") LocalDate dueAfter,
+                                           @Param("dueBefore") LocalDate dueBefore,
+                                           Limit limit);
+
+    @Query("select new com.example.taskmanagerment.dto.TaskSummary(t.id, t.title, t.status, t.priority, t.dueDate) from Task t")
+    List<TaskSummary> findAllSummaries();
+
+    // Served by idx_task_status_priority_due
+    List<Task> findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                      LocalDate from, LocalDate to);
+
+    // Summary variants: Spring Data builds a constructor expression from the TaskSummary record
+    List<TaskSummary> findSummaryByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                                    LocalDate from, LocalDate to);
+
+    // Served by idx_task_due_status
+    List<Task> findByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to);
+
+    List<TaskSummary> findSummaryByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to);
+
+    // Served by idx_task_due_status
+    List<Task> findByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status);
+
+    List<TaskSummary> findSummaryByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status);
+
+    List<TaskSummary> findSummaryByIdIn(Collection<Long> ids);
+
+    // (id, dueDate) of open tasks due on or after the given day; served by idx_task_due_status
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id, t.dueDate from Task t where t.dueDate >= :from and t.status <> :completed")
+    Stream<Object[]> streamOpenDueFrom(@Param("from") LocalDate from, @Param("completed") TaskStatus completed);
+
+    // Which of the given tasks are still open and still due on that day (primary-key lookups)
+    @Query("select t.id from Task t where t.id in :ids and t.dueDate = :dueDate and t.status <> :completed")
+    List<Long> findIdsOpenAndDueOn(@Param("ids") Collection<Long> ids,
+                                   @Param("dueDate") LocalDate dueDate,
+                                   @Param("completed") TaskStatus completed);
+
+    // Next chunk of ids matching bulk-delete criteria
+    @Query("""
+            select t.id from Task t
+            where (:status is null or t.status = :status)
+              and (:dueBefore is null or t.dueDate < :dueBefore)
+            order by t.id
+            """)
+    List<Long> findIdsMatching(@Param("status") TaskStatus status,
+                               @Param("dueBefore") LocalDate dueBefore,
+                               Limit limit);
+
+    // Task counts per (status, priority, due date) bucket; one aggregate scan to seed TaskStatistics
+    @Query("""
+            select t.status, t.priority, t.dueDate, count(t) from Task t
+            group by t.status, t.priority, t.dueDate
+            """)
+    List<Object[]> countByStatusPriorityAndDueDate();
+
+    // Cursor over the whole table for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllByOrderById();
+
+    // (id, title, description, version) of every task, for rebuilding the search index without loading entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id, t.title, t.description, t.version from Task t")
+    Stream<Object[]> streamSearchableText();
 }
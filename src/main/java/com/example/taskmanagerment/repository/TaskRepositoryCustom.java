@@ -0,0 +1,23 @@
+package com.example.taskmanagerment.repository;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+
+    // Apply the non-null fields of the patch with a single UPDATE; returns the row as it was before, if one matched
+    Optional<TaskSnapshot> patch(Long id, TaskPatch patch, Collection<Long> expectedVersions);
+
+    // Single DELETE without loading the entity (a task already loaded in this transaction is removed at the next
+    // flush instead); returns the deleted row, if there was one
+    Optional<TaskSnapshot> deleteTaskById(Long id);
+
+    // Delete one chunk; criteria are re-checked so rows changed since the id scan are kept. Returns the deleted rows.
+    List<TaskSnapshot> deleteMatchingByIdIn(Collection<Long> ids, TaskStatus status, LocalDate dueBefore);
+}
@@ -0,0 +1,135 @@
+package com.example.taskmanagerment.repository;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Writes that must report what they changed use H2's data change delta tables (H2-only):
+// "select ... from old table (update/delete ...)" runs the write and returns the previous rows in one statement.
+// Like any native query it flushes the session first. So deleteTaskById removes a task that is already
+// managed in this persistence context (a batch loads its tasks up front) through remove() instead: its DELETE
+// waits for the flush at commit and goes out in a JDBC batch with the other writes.
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String SNAPSHOT_COLUMNS = "select id, title, description, status, priority, due_date, version from old table ";
+
+    private final EntityManager entityManager;
+
+    public TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskSnapshot> patch(Long id, TaskPatch patch, Collection<Long> expectedVersions) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder set = new StringBuilder();
+        if (patch.title() != null) {
+            set.append("title = :title, ");
+            parameters.put("title", patch.title());
+        }
+        if (patch.description() != null) {
+            set.append("description = :description, ");
+            parameters.put("description", patch.description());
+        }
+        if (patch.status() != null) {
+            set.append("status = :status, ");
+            parameters.put("status", patch.status().name());
+        }
+        if (patch.priority() != null) {
+            set.append("priority = :priority, ");
+            parameters.put("priority", patch.priority().name());
+        }
+        if (patch.dueDate() != null) {
+            set.append("due_date = :dueDate, ");
+            parameters.put("dueDate", patch.dueDate());
+        }
+        // Bulk updates bypass @Version handling, so bump it here to keep ETags and optimistic locks valid
+        set.append("version = version + 1");
+
+        String where = " where id = :id";
+        parameters.put("id", id);
+        if (expectedVersions != null) {
+            where += " and version in (:expectedVersions)";
+            parameters.put("expectedVersions", expectedVersions);
+        }
+
+        List<TaskSnapshot> rows = run("(update task set " + set + where + ")", parameters);
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskSnapshot> deleteTaskById(Long id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class);
+        // Looks only in this persistence context, never at the database
+        Task managed = (Task) session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            if (session.getPersistenceContextInternal().getEntry(managed).getStatus().isDeletedOrGone()) {
+                return Optional.empty();
+            }
+            TaskSnapshot deleted = TaskSnapshot.of(managed);
+            entityManager.remove(managed);
+            return Optional.of(deleted);
+        }
+        return run("(delete from task where id = :id)", Map.of("id", id)).stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public List<TaskSnapshot> deleteMatchingByIdIn(Collection<Long> ids, TaskStatus status, LocalDate dueBefore) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder delete = new StringBuilder("(delete from task where id in (:ids)");
+        parameters.put("ids", ids);
+        if (status != null) {
+            delete.append(" and status = :status");
+            parameters.put("status", status.name());
+        }
+        if (dueBefore != null) {
+            delete.append(" and due_date < :dueBefore");
+            parameters.put("dueBefore", dueBefore);
+        }
+        return run(delete.append(")").toString(), parameters);
+    }
+
+    private List<TaskSnapshot> run(String change, Map<String, Object> parameters) {
+        Query query = entityManager.createNativeQuery(SNAPSHOT_COLUMNS + change);
+        parameters.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(TaskRepositoryCustomImpl::toSnapshot).toList();
+    }
+
+    private static TaskSnapshot toSnapshot(Object[] row) {
+        return new TaskSnapshot(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                row[3] == null ? null : TaskStatus.valueOf(row[3].toString()),
+                row[4] == null ? null : Priority.valueOf(row[4].toString()),
+                toLocalDate(row[5]),
+                row[6] == null ? null : ((Number) row[6]).longValue());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.taskmanagerment.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Term -> posting list of task ids (ascending) with a per-task term weight, plus task id -> the posting lists
+// it is in, so a task can be re-indexed or removed without the text it was indexed with.
+// Not thread-safe: TaskSearchIndex guards it with a read/write lock.
+public final class InvertedIndex {
+
+    // A term in the title counts as much as this many occurrences in the description
+    static final int TITLE_WEIGHT = 3;
+
+    // 1 + ln(weight) for the small weights nearly every posting has
+    private static final double[] TERM_FREQUENCY = new double[64];
+
+    static {
+        for (int weight = 1; weight < TERM_FREQUENCY.length; weight++) {
+            TERM_FREQUENCY[weight] = 1 + Math.log(weight);
+        }
+    }
+
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Postings[]> postingsById = new HashMap<>();
+
+    // Lower-cased runs of letters and digits (a plain loop: this runs for every task on startup)
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start).toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    // Index one task, replacing whatever text it was indexed with before
+    public void add(long id, String title, String description) {
+        remove(id);
+        Map<String, Integer> weights = weights(title, description);
+        if (weights.isEmpty()) {
+            return;
+        }
+        Postings[] lists = new Postings[weights.size()];
+        int n = 0;
+        for (Map.Entry<String, Integer> term : weights.entrySet()) {
+            Postings postings = postingsByTerm.computeIfAbsent(term.getKey(), Postings::new);
+            postings.put(id, term.getValue());
+            lists[n++] = postings;
+        }
+        postingsById.put(id, lists);
+    }
+
+    // Remove one task (a no-op if it is not indexed)
+    public void remove(long id) {
+        Postings[] lists = postingsById.remove(id);
+        if (lists == null) {
+            return;
+        }
+        for (Postings postings : lists) {
+            postings.remove(id);
+            if (postings.size == 0) {
+                postingsByTerm.remove(postings.term);
+            }
+        }
+    }
+
+    public void clear() {
+        postingsByTerm.clear();
+        postingsById.clear();
+    }
+
+    public int documentCount() {
+        return postingsById.size();
+    }
+
+    public int termCount() {
+        return postingsByTerm.size();
+    }
+
+    // Tasks containing every query term, best score first (ties by id), skipping the first offset hits.
+    // Score is tf-idf: sum over terms of (1 + ln weight) * ln(1 + N / df).
+    public SearchHits search(List<String> queryTerms, int offset, int limit) {
+        Set<String> distinct = new LinkedHashSet<>(queryTerms);
+        if (distinct.isEmpty() || limit <= 0) {
+            return new SearchHits(List.of(), 0);
+        }
+        Postings[] lists = new Postings[distinct.size()];
+        int n = 0;
+        for (String term : distinct) {
+            Postings postings = postingsByTerm.get(term);
+            if (postings == null) {
+                return new SearchHits(List.of(), 0);
+            }
+            lists[n++] = postings;
+        }
+        // Drive the intersection from the shortest list; the others are probed with a forward-only search
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        double[] idf = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = Math.log(1.0 + (double) postingsById.size() / lists[i].size);
+        }
+
+        int window = offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(window, 1024) + 1, Hit.WORST_FIRST);
+        int[] cursors = new int[lists.length];
+        long total = 0;
+        Postings driver = lists[0];
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            long id = driver.ids[i];
+            double score = termFrequency(driver.weights[i]) * idf[0];
+            for (int l = 1; l < lists.length; l++) {
+                int position = lists[l].seek(id, cursors[l]);
+                cursors[l] = position;
+                if (position >= lists[l].size) {
+                    break candidates;
+                }
+                if (lists[l].ids[position] != id) {
+                    continue candidates;
+                }
+                score += termFrequency(lists[l].weights[position]) * idf[l];
+            }
+            total++;
+            if (best.size() < window) {
+                best.add(new Hit(id, score));
+            } else if (score > best.peek().score) {
+                // Ids are visited in ascending order, so an equal score never beats the current worst
+                best.poll();
+                best.add(new Hit(id, score));
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(Hit.WORST_FIRST.reversed());
+        List<Long> page = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(Hit::id)
+                .toList();
+        return new SearchHits(page, total);
+    }
+
+    private static double termFrequency(int weight) {
+        return weight < TERM_FREQUENCY.length ? TERM_FREQUENCY[weight] : 1 + Math.log(weight);
+    }
+
+    private static Map<String, Integer> weights(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : tokenize(title)) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            weights.merge(token, 1, Integer::sum);
+        }
+        return weights;
+    }
+
+    // One page of hits (task ids in rank order) and how many tasks matched overall
+    public record SearchHits(List<Long> ids, long total) {
+    }
+
+    private record Hit(long id, double score) {
+        // Lower score is worse; on equal score the larger id is worse, so results are stable
+        static final Comparator<Hit> WORST_FIRST = (a, b) -> a.score != b.score
+                ? Double.compare(a.score, b.score)
+                : Long.compare(b.id, a.id);
+    }
+
+    // Parallel primitive arrays: ids ascending, weights[i] belongs to ids[i]
+    private static final class Postings {
+
+        private final String term;
+        private long[] ids = new long[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        // Returns true if the id was not in the list yet
+        boolean put(long id, int weight) {
+            // Ids come from a sequence, so new tasks almost always append
+            int position = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                weights[position] = weight;
+                return false;
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+            if (size > 8 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+                weights = Arrays.copyOf(weights, weights.length / 2);
+            }
+            return true;
+        }
+
+        // First position at or after from whose id is >= target (galloping, then binary search)
+        int seek(long target, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && ids[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(ids, low, Math.min(high + 1, size), target);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.taskmanagerment.search;
+
+import com.example.taskmanagerment.event.RebuildableView;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.store.TaskStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Keyword index over task title and description, kept in step with committed writes.
+// Rebuilt from the table at startup, then updated by every TaskChangedEvent.
+//
+// After-commit listeners run in whatever order the committing threads reach them, so two updates of one task
+// can arrive swapped. The index therefore keeps the version it last indexed per task (in a primitive map) and
+// ignores events that do not bring a newer one; every event carries the version its write committed.
+// A deleted task keeps a tombstone so a late update cannot bring it back. Listeners run straight after their
+// commit, so a tombstone is only needed briefly: it is dropped after TOMBSTONE_RETENTION, and the map stays
+// about as large as the table.
+@Component
+public class TaskSearchIndex implements RebuildableView {
+
+    static final Duration TOMBSTONE_RETENTION = Duration.ofMinutes(1);
+    private static final long DELETED = Long.MAX_VALUE;
+    private static final long NO_VERSION = -1;
+
+    private record Tombstone(long id, long expiresAtMillis) {
+    }
+
+    private final TaskStore taskStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+
+    private final InvertedIndex index = new InvertedIndex();
+    // Guarded by lock, like the index
+    private final LongLongMap versions = new LongLongMap(1_024);
+    private final Deque<Tombstone> tombstones = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public TaskSearchIndex(TaskStore taskStore, PlatformTransactionManager transactionManager) {
+        this(taskStore, transactionManager, Clock.systemUTC());
+    }
+
+    TaskSearchIndex(TaskStore taskStore, PlatformTransactionManager transactionManager, Clock clock) {
+        this.taskStore = taskStore;
+        this.clock = clock;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Re-read every task's text; searches and writes wait until the rebuild is done
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            versions.clear(1_024);
+            tombstones.clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = taskStore.streamSearchableText()) {
+                    rows.forEach(row -> {
+                        long id = ((Number) row[0]).longValue();
+                        index.add(id, (String) row[1], (String) row[2]);
+                        versions.put(id, versionOf((Number) row[3]));
+                    });
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs after commit (or straight away when there is no transaction); rolled-back writes are never indexed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot after = event.after();
+        long version = after == null ? DELETED : versionOf(after.version());
+        lock.writeLock().lock();
+        try {
+            long now = clock.millis();
+            expireTombstones(now);
+            if (version <= versions.get(event.id(), NO_VERSION)) {
+                return;
+            }
+            versions.put(event.id(), version);
+            if (after == null) {
+                index.remove(event.id());
+                tombstones.addLast(new Tombstone(event.id(), now + TOMBSTONE_RETENTION.toMillis()));
+            } else {
+                index.add(event.id(), after.title(), after.description());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tombstones expire in the order they were added
+    private void expireTombstones(long now) {
+        while (!tombstones.isEmpty() && tombstones.peekFirst().expiresAtMillis() <= now) {
+            versions.remove(tombstones.pollFirst().id());
+        }
+    }
+
+    // Tasks whose version is tracked, tombstones included
+    int trackedTasks() {
+        lock.readLock().lock();
+        try {
+            return versions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long versionOf(Number version) {
+        return version == null ? NO_VERSION : version.longValue();
+    }
+
+    public InvertedIndex.SearchHits search(List<String> terms, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanagerment.service;
+
+import com.example.taskmanagerment.dto.BatchItemResult;
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.exception.BadRequestException;
+import com.example.taskmanagerment.store.TaskStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskBatchService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final TaskService taskService;
+    private final TaskStore taskStore;
+    private final Validator validator;
+
+    public TaskBatchService(TaskService taskService, TaskStore taskStore, Validator validator) {
+        this.taskService = taskService;
+        this.taskStore = taskStore;
+        this.validator = validator;
+    }
+
+    // Apply all operations in one transaction; writes are flushed together at commit so
+    // Hibernate can group them into JDBC batches. Invalid entries are reported and skipped.
+    @Transactional
+    public List<BatchItemResult> applyBatch(List<BatchOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch too large: " + operations.size() + " operations (max " + MAX_BATCH_SIZE + ")");
+        }
+
+        // Load every task referenced by an UPDATE/DELETE with one query; later lookups hit the persistence context
+        Set<Long> referencedIds = operations.stream()
+                .filter(operation -> operation != null && operation.id() != null)
+                .map(BatchOperation::id)
+                .collect(Collectors.toSet());
+        Set<Long> existingIds = new HashSet<>();
+        taskStore.findAllById(referencedIds).forEach(task -> existingIds.add(task.getId()));
+
+        List<BatchItemResult> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            results.add(apply(index, operations.get(index), existingIds));
+        }
+        return results;
+    }
+
+    private BatchItemResult apply(int index, BatchOperation operation, Set<Long> existingIds) {
+        if (operation == null || operation.op() == null) {
+            return BatchItemResult.failed(index, null, HttpStatus.BAD_REQUEST.value(), null, "Operation type is mandatory");
+        }
+        return switch (operation.op()) {
+            case CREATE -> {
+                String error = validate(operation.task());
+                if (error != null) {
+                    yield BatchItemResult.failed(index, operation.op(), HttpStatus.BAD_REQUEST.value(), null, error);
+                }
+                Task created = taskService.createTask(operation.task());
+                yield BatchItemResult.ok(index, operation.op(), HttpStatus.CREATED.value(), created.getId());
+            }
+            case UPDATE -> {
+                String error = operation.id() == null ? "Id is mandatory" : validate(operation.task());
+                if (error != null) {
+                    yield BatchItemResult.failed(index, operation.op(), HttpStatus.BAD_REQUEST.value(), operation.id(), error);
+                }
+                if (!existingIds.contains(operation.id())) {
+                    yield notFound(index, operation);
+                }
+                taskService.updateTask(operation.id(), operation.task());
+                yield BatchItemResult.ok(index, operation.op(), HttpStatus.OK.value(), operation.id());
+            }
+            case DELETE -> {
+                if (operation.id() == null) {
+                    yield BatchItemResult.failed(index, operation.op(), HttpStatus.BAD_REQUEST.value(), null, "Id is mandatory");
+                }
+                if (!existingIds.remove(operation.id())) {
+                    yield notFound(index, operation);
+                }
+                taskService.deleteTask(operation.id());
+                yield BatchItemResult.ok(index, operation.op(), HttpStatus.OK.value(), operation.id());
+            }
+        };
+    }
+
+    private String validate(Task task) {
+        if (task == null) {
+            return "Task is mandatory";
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return "Validation failed: " + violations.iterator().next().getMessage();
+    }
+
+    private static BatchItemResult notFound(int index, BatchOperation operation) {
+        return BatchItemResult.failed(index, operation.op(), HttpStatus.NOT_FOUND.value(), operation.id(),
+                "Task not found with id: " + operation.id());
+    }
+}
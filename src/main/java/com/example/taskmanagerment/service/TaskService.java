@@ -1,54 +1,379 @@
 package com.example.taskmanagerment.service;
 
+import com.example.taskmanagerment.config.CacheConfig;
+import com.example.taskmanagerment.dto.TaskFilter;
+import com.example.taskmanagerment.dto.TaskPage;
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSearchPage;
+import com.example.taskmanagerment.dto.TaskStats;
+import com.example.taskmanagerment.dto.TaskSummary;
 import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.exception.BadRequestException;
 import com.example.taskmanagerment.exception.TaskNotFoundException;
-import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.exception.TaskVersionMismatchException;
+import com.example.taskmanagerment.ingest.TaskWriteBehind;
+import com.example.taskmanagerment.search.InvertedIndex;
+import com.example.taskmanagerment.search.TaskSearchIndex;
+import com.example.taskmanagerment.stats.TaskStatistics;
+import com.example.taskmanagerment.store.TaskStore;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
-    private final TaskRepository taskRepository;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int BULK_DELETE_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    // Ranking keeps offset + limit hits in memory, so deep paging is capped
+    public static final int MAX_SEARCH_WINDOW = 10_000;
 
-    public TaskService(TaskRepository taskRepository) {
-        this.taskRepository = taskRepository;
+    private final TaskStore taskStore;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatistics taskStatistics;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskWriteBehind taskWriteBehind;
+
+    public TaskService(TaskStore taskStore, EntityManager entityManager,
+                       ApplicationEventPublisher eventPublisher, TaskStatistics taskStatistics,
+                       TaskSearchIndex taskSearchIndex, TaskWriteBehind taskWriteBehind) {
+        this.taskStore = taskStore;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.taskStatistics = taskStatistics;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskWriteBehind = taskWriteBehind;
     }
 
     // Create a new Task
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task saved = taskStore.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(saved)));
+        return saved;
+    }
+
+    // Whether createTask callers should use enqueueTask instead (tasks.write-behind.enabled)
+    public boolean isWriteBehindEnabled() {
+        return taskWriteBehind.isEnabled();
     }
 
-    // Get Task by ID
+    // Queue a new Task for the background flusher; it has its id now and is readable at once
+    public Task enqueueTask(Task task) {
+        return taskWriteBehind.submit(task);
+    }
+
+    // Get Task by ID (cached; concurrent misses on one id share a single load). Tasks still in the
+    // write-behind queue are served from there. Not @Transactional: a cache hit needs no connection, and
+    // findById runs in the repository's own transaction (on the primary, see TaskRepository).
+    @Cacheable(cacheNames = CacheConfig.TASK_CACHE, key = "#id", sync = true)
     public Task getTaskById(Long id) {
-        return taskRepository.findById(id)
+        return taskWriteBehind.findPending(id)
+                .or(() -> taskStore.findById(id))
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: "+id));
     }
 
     //List all tasks
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+        return taskStore.findAll();
+    }
+
+    //List all tasks as summaries (no description, no entities)
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getAllTaskSummaries() {
+        return taskStore.findAllSummaries();
+    }
+
+    //List one page of tasks after the given cursor (last id of the previous page)
+    @Transactional(readOnly = true)
+    public TaskPage<Task> getTasksPage(Long after, Integer limit, TaskFilter filter) {
+        return page(after, limit, (cursor, rows) -> taskStore.findPageAfter(cursor, filter.status(),
+                filter.priority(), filter.dueAfter(), filter.dueBefore(), rows), Task::getId);
+    }
+
+    //Same page as getTasksPage, as summaries
+    @Transactional(readOnly = true)
+    public TaskPage<TaskSummary> getTaskSummariesPage(Long after, Integer limit, TaskFilter filter) {
+        return page(after, limit, (cursor, rows) -> taskStore.findSummaryPageAfter(cursor, filter.status(),
+                filter.priority(), filter.dueAfter(), filter.dueBefore(), rows), TaskSummary::id);
+    }
+
+    private interface PageQuery<T> {
+        List<T> find(long after, Limit limit);
+    }
+
+    private static <T> TaskPage<T> page(Long after, Integer limit, PageQuery<T> query, ToLongFunction<T> idOf) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long cursor = after == null ? 0L : after;
+
+        // Fetch one extra row to know whether another page follows
+        List<T> rows = query.find(cursor, Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new TaskPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new TaskPage<>(page, idOf.applyAsLong(page.get(pageSize - 1)));
+    }
+
+    //List tasks due in [from, to], optionally narrowed to one status and priority
+    @Transactional(readOnly = true)
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to, TaskStatus status, Priority priority) {
+        if (status != null && priority != null) {
+            return taskStore.findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(status, priority, from, to);
+        }
+        return narrow(taskStore.findByDueDateBetweenOrderByDueDate(from, to), status, priority,
+                Task::getStatus, Task::getPriority);
+    }
+
+    //Same tasks as getTasksDueBetween, as summaries
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummariesDueBetween(LocalDate from, LocalDate to, TaskStatus status, Priority priority) {
+        if (status != null && priority != null) {
+            return taskStore.findSummaryByStatusAndPriorityAndDueDateBetweenOrderByDueDate(status, priority, from, to);
+        }
+        return narrow(taskStore.findSummaryByDueDateBetweenOrderByDueDate(from, to), status, priority,
+                TaskSummary::status, TaskSummary::priority);
     }
 
-    //Update task
+    private static <T> List<T> narrow(List<T> rows, TaskStatus status, Priority priority,
+                                      Function<T, TaskStatus> statusOf, Function<T, Priority> priorityOf) {
+        if (status == null && priority == null) {
+            return rows;
+        }
+        return rows.stream()
+                .filter(row -> status == null || statusOf.apply(row) == status)
+                .filter(row -> priority == null || priorityOf.apply(row) == priority)
+                .toList();
+    }
+
+    //List tasks past their due date that are not completed yet
+    @Transactional(readOnly = true)
+    public List<Task> getOverdueTasks() {
+        return taskStore.findByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate.now(), TaskStatus.COMPLETED);
+    }
+
+    //Same tasks as getOverdueTasks, as summaries
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getOverdueTaskSummaries() {
+        return taskStore.findSummaryByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate.now(), TaskStatus.COMPLETED);
+    }
+
+    //Counts by status and priority plus overdue, served from memory
+    public TaskStats getStatistics() {
+        return taskStatistics.snapshot();
+    }
+
+    //Tasks whose title or description contain every word of the query, best match first
+    @Transactional(readOnly = true)
+    public TaskSearchPage<Task> searchTasks(String query, Integer offset, Integer limit) {
+        return search(query, offset, limit, taskStore::findAllById, Task::getId);
+    }
+
+    //Same ranked hits as searchTasks, as summaries
+    @Transactional(readOnly = true)
+    public TaskSearchPage<TaskSummary> searchTaskSummaries(String query, Integer offset, Integer limit) {
+        return search(query, offset, limit, taskStore::findSummaryByIdIn, TaskSummary::id);
+    }
+
+    private <T> TaskSearchPage<T> search(String query, Integer offset, Integer limit,
+                                         Function<List<Long>, List<T>> load, ToLongFunction<T> idOf) {
+        List<String> terms = InvertedIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one letter or digit");
+        }
+        if (offset != null && offset < 0) {
+            throw new BadRequestException("offset must not be negative");
+        }
+        int pageSize = limit == null ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        int start = offset == null ? 0 : offset;
+        // Compared as long: offset near Integer.MAX_VALUE would wrap and slip past the check
+        if ((long) start + pageSize > MAX_SEARCH_WINDOW) {
+            throw new BadRequestException("offset + limit must not exceed " + MAX_SEARCH_WINDOW);
+        }
+
+        InvertedIndex.SearchHits hits = taskSearchIndex.search(terms, start, pageSize);
+        // One query for the page, then restore rank order; a task deleted since the lookup is dropped
+        Map<Long, T> rowsById = load.apply(hits.ids()).stream()
+                .collect(Collectors.toMap(idOf::applyAsLong, Function.identity()));
+        List<T> items = hits.ids().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Integer nextOffset = start + pageSize < hits.total() ? start + pageSize : null;
+        return new TaskSearchPage<>(items, hits.total(), nextOffset);
+    }
+
+    //Stream every task to the sink in id order, detaching each row once it has been handed over
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> sink) {
+        try (Stream<Task> tasks = taskStore.streamAllByOrderById()) {
+            tasks.forEach(task -> {
+                sink.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    //Update task. Inside an outer transaction (a batch) the UPDATE waits for the flush at commit, so the
+    //event is published only after that flush has set the new version (see PendingUpdates).
+    @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, key = "#id")
     public Task updateTask(Long id, Task updateTask){
+        taskWriteBehind.awaitFlushed(id);
         Task existingTask = getTaskById(id);
+        TaskSnapshot before = TaskSnapshot.of(existingTask);
+        copyFields(updateTask, existingTask);
+        Task saved = taskStore.save(existingTask);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            PendingUpdates.current(taskStore, eventPublisher).add(before, saved);
+        } else {
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(saved)));
+        }
+        return saved;
+    }
 
-        existingTask.setTitle(updateTask.getTitle());
-        existingTask.setDescription(updateTask.getDescription());
-        existingTask.setPriority(updateTask.getPriority());
-        existingTask.setStatus(updateTask.getStatus());
-        existingTask.setDueDate(updateTask.getDueDate());
+    //Update task only if it is still at one of the expected versions (null = unconditional).
+    //Flushes so the returned version (the new ETag) is final even inside an outer transaction.
+    @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, key = "#id")
+    public Task updateTask(Long id, Task updateTask, Collection<Long> expectedVersions){
+        taskWriteBehind.awaitFlushed(id);
+        Task existingTask = getTaskById(id);
+        if (expectedVersions != null && !expectedVersions.contains(existingTask.getVersion())) {
+            throw new TaskVersionMismatchException("Task " + id + " is at version " + existingTask.getVersion()
+                    + ", not one of " + expectedVersions);
+        }
+        TaskSnapshot before = TaskSnapshot.of(existingTask);
+        copyFields(updateTask, existingTask);
+        Task saved = taskStore.saveAndFlush(existingTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(saved)));
+        return saved;
+    }
 
-        return taskRepository.save(existingTask);
+    //Partially update task with one UPDATE statement (no read-modify-write)
+    @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, key = "#id")
+    public void patchTask(Long id, TaskPatch patch, Collection<Long> expectedVersions){
+        // An empty patch would still bump the version (new ETag) and publish an update
+        if (patch.isEmpty()) {
+            throw new BadRequestException("Patch needs at least one field to change");
+        }
+        taskWriteBehind.awaitFlushed(id);
+        // No expected version at all can never match, and "version in ()" is not valid SQL
+        Optional<TaskSnapshot> before = expectedVersions != null && expectedVersions.isEmpty()
+                ? Optional.empty()
+                : taskStore.patch(id, patch, expectedVersions);
+        if (before.isEmpty()) {
+            // Only the failure path pays for a second query, to tell a stale version from a missing task
+            if (expectedVersions != null && taskStore.existsById(id)) {
+                throw new TaskVersionMismatchException("Task " + id + " is not at one of versions " + expectedVersions);
+            }
+            throw new TaskNotFoundException("Task not found with id: "+id);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before.get(), before.get().apply(patch)));
     }
 
-    //Delete task
+    //Delete task with a single DELETE statement
+    @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, key = "#id")
     public void deleteTask(Long id){
-        Task existingTask = getTaskById(id);
-        taskRepository.delete(existingTask);
+        taskWriteBehind.awaitFlushed(id);
+        TaskSnapshot deleted = taskStore.deleteTaskById(id)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: "+id));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(deleted));
+    }
+
+    //Delete every task matching the criteria, one small transaction per chunk
+    @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, allEntries = true)
+    public long deleteTasks(TaskStatus status, LocalDate dueBefore){
+        if (status == null && dueBefore == null) {
+            throw new BadRequestException("Bulk delete needs at least one of 'status' or 'dueBefore'");
+        }
+        taskWriteBehind.awaitFlushed();
+        long deleted = 0;
+        List<Long> ids;
+        do {
+            ids = taskStore.findIdsMatching(status, dueBefore, Limit.of(BULK_DELETE_CHUNK_SIZE));
+            if (!ids.isEmpty()) {
+                List<TaskSnapshot> chunk = taskStore.deleteMatchingByIdIn(ids, status, dueBefore);
+                chunk.forEach(row -> eventPublisher.publishEvent(TaskChangedEvent.deleted(row)));
+                deleted += chunk.size();
+            }
+        } while (ids.size() == BULK_DELETE_CHUNK_SIZE);
+        return deleted;
     }
 
+    // Tasks updated in the current transaction. Just before it commits they are flushed once, together, and
+    // each gets one event from its first state in the transaction to the version the flush wrote.
+    private static final class PendingUpdates implements TransactionSynchronization {
+
+        private record Update(TaskSnapshot before, Task saved) {
+        }
+
+        private final Map<Long, Update> updates = new LinkedHashMap<>();
+        private final TaskStore taskStore;
+        private final ApplicationEventPublisher eventPublisher;
+
+        private PendingUpdates(TaskStore taskStore, ApplicationEventPublisher eventPublisher) {
+            this.taskStore = taskStore;
+            this.eventPublisher = eventPublisher;
+        }
+
+        static PendingUpdates current(TaskStore taskStore, ApplicationEventPublisher eventPublisher) {
+            PendingUpdates pending = (PendingUpdates) TransactionSynchronizationManager.getResource(PendingUpdates.class);
+            if (pending == null) {
+                pending = new PendingUpdates(taskStore, eventPublisher);
+                TransactionSynchronizationManager.bindResource(PendingUpdates.class, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            return pending;
+        }
+
+        void add(TaskSnapshot before, Task saved) {
+            updates.merge(saved.getId(), new Update(before, saved), (first, next) -> new Update(first.before(), next.saved()));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            taskStore.flush();
+            updates.values().forEach(update ->
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(update.before(), TaskSnapshot.of(update.saved()))));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PendingUpdates.class);
+        }
+    }
+
+    private static void copyFields(Task source, Task target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setPriority(source.getPriority());
+        target.setStatus(source.getStatus());
+        target.setDueDate(source.getDueDate());
+    }
 }
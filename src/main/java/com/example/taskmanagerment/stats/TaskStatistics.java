@@ -0,0 +1,151 @@
+package com.example.taskmanagerment.stats;
+
+import com.example.taskmanagerment.dto.TaskStats;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.RebuildableView;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.store.TaskStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory task counts kept in step with committed writes, so /api/tasks/stats never queries the database.
+// Seeded from one GROUP BY at startup, then adjusted by every TaskChangedEvent.
+@Component
+public class TaskStatistics implements RebuildableView {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final TaskStore taskStore;
+    private final Clock clock;
+
+    // Indexed by ordinal; the extra last slot counts tasks without a value
+    private final LongAdder[] byStatus = newAdders(STATUSES.length + 1);
+    private final LongAdder[] byPriority = newAdders(PRIORITIES.length + 1);
+    private final LongAdder total = new LongAdder();
+
+    // Open (not completed) tasks that are overdue, plus open tasks due today or later bucketed by day.
+    // When the date changes the buckets that fell behind are folded into overdue under the write lock;
+    // ordinary updates only take the read lock, so they never block each other.
+    private final LongAdder overdue = new LongAdder();
+    private final ConcurrentSkipListMap<LocalDate, LongAdder> upcoming = new ConcurrentSkipListMap<>();
+    private final ReadWriteLock dayLock = new ReentrantReadWriteLock();
+    private volatile LocalDate today;
+
+    @Autowired
+    public TaskStatistics(TaskStore taskStore) {
+        this(taskStore, Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(TaskStore taskStore, Clock clock) {
+        this.taskStore = taskStore;
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+    }
+
+    // Reset every counter from the database; writes arriving meanwhile wait for the rebuild to finish
+    @Override
+    public void rebuild() {
+        dayLock.writeLock().lock();
+        try {
+            for (LongAdder adder : byStatus) adder.reset();
+            for (LongAdder adder : byPriority) adder.reset();
+            total.reset();
+            overdue.reset();
+            upcoming.clear();
+            today = LocalDate.now(clock);
+
+            for (Object[] row : taskStore.countByStatusPriorityAndDueDate()) {
+                add((TaskStatus) row[0], (Priority) row[1], (LocalDate) row[2], ((Number) row[3]).longValue());
+            }
+        } finally {
+            dayLock.writeLock().unlock();
+        }
+    }
+
+    // Runs after commit (or straight away when there is no transaction); rolled-back writes are never counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        rollOver();
+        dayLock.readLock().lock();
+        try {
+            TaskSnapshot before = event.before();
+            TaskSnapshot after = event.after();
+            if (before != null) {
+                add(before.status(), before.priority(), before.dueDate(), -1);
+            }
+            if (after != null) {
+                add(after.status(), after.priority(), after.dueDate(), 1);
+            }
+        } finally {
+            dayLock.readLock().unlock();
+        }
+    }
+
+    public TaskStats snapshot() {
+        rollOver();
+        Map<TaskStatus, Long> statusCounts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            statusCounts.put(status, byStatus[status.ordinal()].sum());
+        }
+        Map<Priority, Long> priorityCounts = new EnumMap<>(Priority.class);
+        for (Priority priority : PRIORITIES) {
+            priorityCounts.put(priority, byPriority[priority.ordinal()].sum());
+        }
+        return new TaskStats(total.sum(), statusCounts, priorityCounts, overdue.sum());
+    }
+
+    private void add(TaskStatus status, Priority priority, LocalDate dueDate, long delta) {
+        total.add(delta);
+        byStatus[status == null ? STATUSES.length : status.ordinal()].add(delta);
+        byPriority[priority == null ? PRIORITIES.length : priority.ordinal()].add(delta);
+        // Same rule as getOverdueTasks(): a task without status or due date is never overdue
+        if (status == null || status == TaskStatus.COMPLETED || dueDate == null) {
+            return;
+        }
+        if (dueDate.isBefore(today)) {
+            overdue.add(delta);
+        } else {
+            upcoming.computeIfAbsent(dueDate, day -> new LongAdder()).add(delta);
+        }
+    }
+
+    private void rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (!now.isAfter(today)) {
+            return;
+        }
+        dayLock.writeLock().lock();
+        try {
+            if (now.isAfter(today)) {
+                NavigableMap<LocalDate, LongAdder> passed = upcoming.headMap(now, false);
+                passed.values().forEach(bucket -> overdue.add(bucket.sum()));
+                passed.clear();
+                today = now;
+            }
+        } finally {
+            dayLock.writeLock().unlock();
+        }
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
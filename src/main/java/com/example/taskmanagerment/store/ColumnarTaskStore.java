@@ -0,0 +1,552 @@
+package com.example.taskmanagerment.store;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSummary;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+// tasks.store=columnar: all tasks in memory, one primitive array per column, served without ORM or JDBC.
+// - Slots are in id order (ids are assigned here and only grow), so a keyset page is a binary search plus a
+//   forward scan, and LongIntIndex maps id -> slot for point reads.
+// - Status and priority are ordinal bytes (-1 = null), due dates epoch days (NO_DATE = null). Titles and
+//   descriptions stay the Strings the request brought in (Latin-1 compact strings), so reads share them.
+// - A deleted slot is tombstoned (version DELETED) and compacted away once tombstones pass a quarter of the slots.
+// - A StampedLock guards the arrays: writes are exclusive, findById first tries an optimistic read.
+// Nothing is persisted and there are no transactions: the store starts empty and is lost on restart.
+@Component
+@Primary
+@ConditionalOnProperty(name = "tasks.store", havingValue = "columnar")
+public class ColumnarTaskStore implements TaskStore {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte NONE = -1;
+    private static final long DELETED = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int STREAM_CHUNK = 1000;
+    // Column limits of the task table, enforced so both stores accept the same tasks
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final StampedLock lock = new StampedLock();
+    private final LongIntIndex index = new LongIntIndex(INITIAL_CAPACITY);
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    // Slots in use, live or deleted
+    private int size;
+    private int deleted;
+    private long nextId = 1;
+
+    public ColumnarTaskStore(@Value("${tasks.write-behind.enabled:false}") boolean writeBehind) {
+        if (writeBehind) {
+            throw new IllegalStateException("tasks.write-behind.enabled writes to the database; it needs tasks.store=jpa");
+        }
+    }
+
+    ColumnarTaskStore() {
+        this(false);
+    }
+
+    @Override
+    public <S extends Task> S save(S task) {
+        checkColumns(task.getTitle(), task.getDescription());
+        long stamp = lock.writeLock();
+        try {
+            if (task.getId() == null) {
+                long id = nextId++;
+                append(id, task);
+                task.setId(id);
+                task.setVersion(0L);
+                return task;
+            }
+            int slot = index.get(task.getId());
+            if (slot == LongIntIndex.MISSING || (task.getVersion() != null && task.getVersion() != versions[slot])) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+            }
+            write(slot, task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(), task.getDueDate());
+            task.setVersion(++versions[slot]);
+            return task;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S task) {
+        return save(task);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int slot = index.get(id);
+                Task task = slot == LongIntIndex.MISSING ? null : toTask(slot);
+                if (lock.validate(stamp)) {
+                    return Optional.ofNullable(task);
+                }
+            } catch (RuntimeException e) {
+                // A writer resized the arrays under us; read again under the lock
+            }
+        }
+        return read(() -> {
+            int slot = index.get(id);
+            return Optional.ofNullable(slot == LongIntIndex.MISSING ? null : toTask(slot));
+        });
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return read(() -> index.get(id) != LongIntIndex.MISSING);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return read(() -> scan(slot -> true, this::toTask, Integer.MAX_VALUE, 0));
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        return read(() -> lookup(ids, this::toTask));
+    }
+
+    @Override
+    public List<TaskSummary> findAllSummaries() {
+        return read(() -> scan(slot -> true, this::toSummary, Integer.MAX_VALUE, 0));
+    }
+
+    @Override
+    public List<Task> findPageAfter(long after, TaskStatus status, Priority priority, LocalDate dueAfter,
+                                    LocalDate dueBefore, Limit limit) {
+        return page(after, status, priority, dueAfter, dueBefore, limit, this::toTask);
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryPageAfter(long after, TaskStatus status, Priority priority, LocalDate dueAfter,
+                                                  LocalDate dueBefore, Limit limit) {
+        return page(after, status, priority, dueAfter, dueBefore, limit, this::toSummary);
+    }
+
+    @Override
+    public List<Task> findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                             LocalDate from, LocalDate to) {
+        return read(() -> byDueDate(dueBetween(from, to).and(hasStatus(status)).and(hasPriority(priority)), this::toTask));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                                           LocalDate from, LocalDate to) {
+        return read(() -> byDueDate(dueBetween(from, to).and(hasStatus(status)).and(hasPriority(priority)), this::toSummary));
+    }
+
+    @Override
+    public List<Task> findByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to) {
+        return read(() -> byDueDate(dueBetween(from, to), this::toTask));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to) {
+        return read(() -> byDueDate(dueBetween(from, to), this::toSummary));
+    }
+
+    @Override
+    public List<Task> findByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status) {
+        return read(() -> byDueDate(dueBefore(date).and(isNot(status)), this::toTask));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status) {
+        return read(() -> byDueDate(dueBefore(date).and(isNot(status)), this::toSummary));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByIdIn(Collection<Long> ids) {
+        return read(() -> lookup(ids, this::toSummary));
+    }
+
+    @Override
+    public Stream<Object[]> streamOpenDueFrom(LocalDate from, TaskStatus completed) {
+        int fromDay = (int) from.toEpochDay();
+        IntPredicate open = isNot(completed);
+        List<Object[]> rows = read(() -> scan(slot -> dueDays[slot] != NO_DATE && dueDays[slot] >= fromDay && open.test(slot),
+                slot -> new Object[]{ids[slot], dueDate(slot)}, Integer.MAX_VALUE, 0));
+        return rows.stream();
+    }
+
+    @Override
+    public List<Long> findIdsOpenAndDueOn(Collection<Long> ids, LocalDate dueDate, TaskStatus completed) {
+        int day = (int) dueDate.toEpochDay();
+        return read(() -> {
+            IntPredicate open = isNot(completed);
+            List<Long> matching = new ArrayList<>();
+            for (Long id : ids) {
+                int slot = index.get(id);
+                if (slot != LongIntIndex.MISSING && dueDays[slot] == day && open.test(slot)) {
+                    matching.add(id);
+                }
+            }
+            return matching;
+        });
+    }
+
+    @Override
+    public List<Long> findIdsMatching(TaskStatus status, LocalDate dueBefore, Limit limit) {
+        IntPredicate match = hasStatus(status).and(dueBefore == null ? slot -> true : dueBefore(dueBefore));
+        return read(() -> scan(match, slot -> ids[slot], max(limit), 0));
+    }
+
+    @Override
+    public List<Object[]> countByStatusPriorityAndDueDate() {
+        return read(() -> {
+            // Key: status and priority ordinals (+1, so null is 0) and the due day
+            Map<Long, long[]> counts = new HashMap<>();
+            for (int slot = 0; slot < size; slot++) {
+                if (versions[slot] != DELETED) {
+                    long key = ((long) (statuses[slot] + 1) << 40) | ((long) (priorities[slot] + 1) << 32)
+                            | (dueDays[slot] & 0xFFFFFFFFL);
+                    counts.computeIfAbsent(key, k -> new long[1])[0]++;
+                }
+            }
+            List<Object[]> rows = new ArrayList<>(counts.size());
+            counts.forEach((key, count) -> {
+                int status = (int) (key >>> 40) - 1;
+                int priority = (int) ((key >>> 32) & 0xFF) - 1;
+                int day = (int) (long) key;
+                rows.add(new Object[]{status < 0 ? null : STATUSES[status], priority < 0 ? null : PRIORITIES[priority],
+                        day == NO_DATE ? null : LocalDate.ofEpochDay(day), count[0]});
+            });
+            return rows;
+        });
+    }
+
+    // Read in chunks of STREAM_CHUNK, each under the read lock, so writers are never held off for a whole export
+    @Override
+    public Stream<Task> streamAllByOrderById() {
+        return Stream.iterate(findPageAfter(0, null, null, null, null, Limit.of(STREAM_CHUNK)),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < STREAM_CHUNK ? List.of() : findPageAfter(chunk.get(chunk.size() - 1).getId(),
+                                null, null, null, null, Limit.of(STREAM_CHUNK)))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public Stream<Object[]> streamSearchableText() {
+        List<Object[]> rows = read(() -> scan(slot -> true,
+                slot -> new Object[]{ids[slot], titles[slot], descriptions[slot], versions[slot]}, Integer.MAX_VALUE, 0));
+        return rows.stream();
+    }
+
+    @Override
+    public Optional<TaskSnapshot> patch(Long id, TaskPatch patch, Collection<Long> expectedVersions) {
+        checkColumns(patch.title() == null ? "" : patch.title(), patch.description() == null ? "" : patch.description());
+        long stamp = lock.writeLock();
+        try {
+            int slot = index.get(id);
+            if (slot == LongIntIndex.MISSING || (expectedVersions != null && !expectedVersions.contains(versions[slot]))) {
+                return Optional.empty();
+            }
+            TaskSnapshot before = toSnapshot(slot);
+            write(slot,
+                    patch.title() != null ? patch.title() : titles[slot],
+                    patch.description() != null ? patch.description() : descriptions[slot],
+                    patch.status() != null ? patch.status() : before.status(),
+                    patch.priority() != null ? patch.priority() : before.priority(),
+                    patch.dueDate() != null ? patch.dueDate() : before.dueDate());
+            versions[slot]++;
+            return Optional.of(before);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<TaskSnapshot> deleteTaskById(Long id) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = index.get(id);
+            if (slot == LongIntIndex.MISSING) {
+                return Optional.empty();
+            }
+            TaskSnapshot removed = remove(slot);
+            compactIfSparse();
+            return Optional.of(removed);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public List<TaskSnapshot> deleteMatchingByIdIn(Collection<Long> ids, TaskStatus status, LocalDate dueBefore) {
+        IntPredicate match = hasStatus(status).and(dueBefore == null ? slot -> true : dueBefore(dueBefore));
+        long stamp = lock.writeLock();
+        try {
+            List<TaskSnapshot> removed = new ArrayList<>();
+            for (Long id : ids) {
+                int slot = index.get(id);
+                if (slot != LongIntIndex.MISSING && match.test(slot)) {
+                    removed.add(remove(slot));
+                }
+            }
+            compactIfSparse();
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int count() {
+        return read(() -> size - deleted);
+    }
+
+    private interface Read<T> {
+        T get();
+    }
+
+    private <T> T read(Read<T> read) {
+        long stamp = lock.readLock();
+        try {
+            return read.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> List<T> page(long after, TaskStatus status, Priority priority, LocalDate dueAfter, LocalDate dueBefore,
+                             Limit limit, IntFunction<T> mapper) {
+        IntPredicate match = hasStatus(status).and(hasPriority(priority));
+        if (dueAfter != null) {
+            int day = (int) dueAfter.toEpochDay();
+            match = match.and(slot -> dueDays[slot] != NO_DATE && dueDays[slot] > day);
+        }
+        if (dueBefore != null) {
+            match = match.and(dueBefore(dueBefore));
+        }
+        IntPredicate filter = match;
+        return read(() -> scan(filter, mapper, max(limit), firstSlotAfter(after)));
+    }
+
+    // Live slots from `from` on, in id order, that match; stops after `max` results
+    private <T> List<T> scan(IntPredicate match, IntFunction<T> mapper, int max, int from) {
+        List<T> result = new ArrayList<>(Math.min(max, size - from));
+        for (int slot = from; slot < size && result.size() < max; slot++) {
+            if (versions[slot] != DELETED && match.test(slot)) {
+                result.add(mapper.apply(slot));
+            }
+        }
+        return result;
+    }
+
+    // Matching live slots ordered by due date, then id (slot order)
+    private <T> List<T> byDueDate(IntPredicate match, IntFunction<T> mapper) {
+        long[] keys = new long[16];
+        int count = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (versions[slot] != DELETED && match.test(slot)) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                keys[count++] = ((long) dueDays[slot] << 32) | slot;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(mapper.apply((int) keys[i]));
+        }
+        return result;
+    }
+
+    private <T> List<T> lookup(Iterable<Long> ids, IntFunction<T> mapper) {
+        List<T> result = new ArrayList<>();
+        for (Long id : ids) {
+            int slot = index.get(id);
+            if (slot != LongIntIndex.MISSING) {
+                result.add(mapper.apply(slot));
+            }
+        }
+        return result;
+    }
+
+    private int firstSlotAfter(long after) {
+        int slot = Arrays.binarySearch(ids, 0, size, after);
+        return slot >= 0 ? slot + 1 : -slot - 1;
+    }
+
+    // Predicates read the column fields when tested, so ones built before taking the lock see resized arrays
+    private IntPredicate hasStatus(TaskStatus status) {
+        if (status == null) {
+            return slot -> true;
+        }
+        byte ordinal = (byte) status.ordinal();
+        return slot -> statuses[slot] == ordinal;
+    }
+
+    private IntPredicate hasPriority(Priority priority) {
+        if (priority == null) {
+            return slot -> true;
+        }
+        byte ordinal = (byte) priority.ordinal();
+        return slot -> priorities[slot] == ordinal;
+    }
+
+    // SQL "status <> x": a null status does not match
+    private IntPredicate isNot(TaskStatus status) {
+        byte ordinal = (byte) status.ordinal();
+        return slot -> statuses[slot] != NONE && statuses[slot] != ordinal;
+    }
+
+    private IntPredicate dueBetween(LocalDate from, LocalDate to) {
+        int first = (int) from.toEpochDay();
+        int last = (int) to.toEpochDay();
+        return slot -> dueDays[slot] != NO_DATE && dueDays[slot] >= first && dueDays[slot] <= last;
+    }
+
+    private IntPredicate dueBefore(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        return slot -> dueDays[slot] != NO_DATE && dueDays[slot] < day;
+    }
+
+    private void append(long id, Task task) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            dueDays = Arrays.copyOf(dueDays, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        versions[slot] = 0;
+        write(slot, task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(), task.getDueDate());
+        index.put(id, slot);
+    }
+
+    private void write(int slot, String title, String description, TaskStatus status, Priority priority, LocalDate dueDate) {
+        titles[slot] = title;
+        descriptions[slot] = description;
+        statuses[slot] = status == null ? NONE : (byte) status.ordinal();
+        priorities[slot] = priority == null ? NONE : (byte) priority.ordinal();
+        dueDays[slot] = dueDate == null ? NO_DATE : (int) dueDate.toEpochDay();
+    }
+
+    private TaskSnapshot remove(int slot) {
+        TaskSnapshot removed = toSnapshot(slot);
+        index.remove(ids[slot]);
+        versions[slot] = DELETED;
+        titles[slot] = null;
+        descriptions[slot] = null;
+        deleted++;
+        return removed;
+    }
+
+    // Drop tombstones once they are a quarter of the slots; ids stay sorted because order is kept
+    private void compactIfSparse() {
+        if (deleted < 64 || deleted * 4 < size) {
+            return;
+        }
+        int live = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (versions[slot] != DELETED) {
+                ids[live] = ids[slot];
+                versions[live] = versions[slot];
+                dueDays[live] = dueDays[slot];
+                statuses[live] = statuses[slot];
+                priorities[live] = priorities[slot];
+                titles[live] = titles[slot];
+                descriptions[live] = descriptions[slot];
+                live++;
+            }
+        }
+        Arrays.fill(titles, live, size, null);
+        Arrays.fill(descriptions, live, size, null);
+        size = live;
+        deleted = 0;
+        index.clear(live);
+        for (int slot = 0; slot < live; slot++) {
+            index.put(ids[slot], slot);
+        }
+    }
+
+    private Task toTask(int slot) {
+        Task task = new Task();
+        task.setId(ids[slot]);
+        task.setTitle(titles[slot]);
+        task.setDescription(descriptions[slot]);
+        task.setStatus(status(slot));
+        task.setPriority(priority(slot));
+        task.setDueDate(dueDate(slot));
+        task.setVersion(versions[slot]);
+        return task;
+    }
+
+    private TaskSummary toSummary(int slot) {
+        return new TaskSummary(ids[slot], titles[slot], status(slot), priority(slot), dueDate(slot));
+    }
+
+    private TaskSnapshot toSnapshot(int slot) {
+        return new TaskSnapshot(ids[slot], titles[slot], descriptions[slot], status(slot), priority(slot), dueDate(slot),
+                versions[slot]);
+    }
+
+    private TaskStatus status(int slot) {
+        return statuses[slot] == NONE ? null : STATUSES[statuses[slot]];
+    }
+
+    private Priority priority(int slot) {
+        return priorities[slot] == NONE ? null : PRIORITIES[priorities[slot]];
+    }
+
+    private LocalDate dueDate(int slot) {
+        return dueDays[slot] == NO_DATE ? null : LocalDate.ofEpochDay(dueDays[slot]);
+    }
+
+    private static int max(Limit limit) {
+        return limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+    }
+
+    private static void checkColumns(String title, String description) {
+        if (title == null || description == null) {
+            throw new DataIntegrityViolationException("Task title and description are not nullable");
+        }
+        if (title.length() > MAX_TITLE_LENGTH || description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new DataIntegrityViolationException("Task title is limited to " + MAX_TITLE_LENGTH
+                    + " and description to " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.taskmanagerment.store;
+
+// long -> int map over two primitive arrays with open addressing (linear probing): no boxing and no entry
+// objects: 12 bytes per slot, with at most half the slots in use. Key 0 marks a free slot, so it cannot be
+// stored (task ids start at 1). Removal shifts the following run back instead of leaving tombstones.
+// Not thread-safe; ColumnarTaskStore guards it with its lock.
+final class LongIntIndex {
+
+    static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        if (key == 0) {
+            return MISSING;
+        }
+        long[] keys = this.keys;
+        int mask = this.mask;
+        // Bounded so a read racing a resize (see ColumnarTaskStore.findById) cannot spin
+        for (int i = slot(key, mask), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            long current = keys[i];
+            if (current == key) {
+                return values[i];
+            }
+            if (current == 0) {
+                return MISSING;
+            }
+        }
+        return MISSING;
+    }
+
+    void put(long key, int value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    // Returns the removed value, or MISSING
+    int remove(long key) {
+        if (key == 0) {
+            return MISSING;
+        }
+        int i = slot(key, mask);
+        while (keys[i] != key) {
+            if (keys[i] == 0) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        int gap = i;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            // Move an entry back into the gap unless its home slot lies between the gap and where it sits
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        return removed;
+    }
+
+    void clear(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = slot(oldKeys[i], mask);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        return Math.max(16, capacity);
+    }
+
+    // Fibonacci hashing: sequential ids spread over the whole table
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
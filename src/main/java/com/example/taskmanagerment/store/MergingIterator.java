@@ -0,0 +1,50 @@
+package com.example.taskmanagerment.store;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// k-way merge of iterators that are each sorted by the same comparator: keeps one head per source in a
+// heap, so the next element costs O(log k) and sources are only read as far as the caller consumes.
+// Equal elements come out in source order.
+final class MergingIterator<T> implements Iterator<T> {
+
+    private record Head<T>(T value, int source) {
+    }
+
+    private final List<? extends Iterator<? extends T>> sources;
+    private final PriorityQueue<Head<T>> heads;
+
+    MergingIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        this.sources = sources;
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), Comparator.<Head<T>, T>comparing(Head::value, order)
+                .thenComparingInt(Head::source));
+        for (int i = 0; i < sources.size(); i++) {
+            advance(i);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source());
+        return head.value();
+    }
+
+    private void advance(int source) {
+        Iterator<? extends T> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            heads.add(new Head<>(iterator.next(), source));
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.example.taskmanagerment.store;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSummary;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.ingest.TaskIdAllocator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// tasks.store=sharded: tasks are hash-partitioned over tasks.sharding.shards H2 databases, each with its own
+// connection pool and Flyway-migrated task table, so writers to different shards never share a lock.
+// - Ids are striped: shard s hands out (local - 1) * shards + s + 1, with local taken in blocks from its own
+//   task_seq. Ids are unique without coordination and the owning shard is (id - 1) mod shards.
+// - New tasks go to the shards round-robin; reads and writes of one task go to its shard only.
+// - List queries run on every shard in parallel, each sorted and limited on its own, and are merged by the
+//   sort key (MergingIterator); exports stream from all shards at once through the same merge.
+// There is no transaction across shards: each statement commits on its own shard.
+@Component
+@Primary
+@ConditionalOnProperty(name = "tasks.store", havingValue = "sharded")
+public class ShardedTaskStore implements TaskStore, DisposableBean {
+
+    private static final String COLUMNS = "id, title, description, status, priority, due_date, version";
+    private static final String SUMMARY_COLUMNS = "id, title, status, priority, due_date";
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final Comparator<Task> BY_ID = Comparator.comparing(Task::getId);
+    private static final Comparator<Task> BY_DUE_DATE = Comparator.comparing(Task::getDueDate).thenComparing(Task::getId);
+    private static final Comparator<TaskSummary> SUMMARY_BY_ID = Comparator.comparing(TaskSummary::id);
+    private static final Comparator<TaskSummary> SUMMARY_BY_DUE_DATE = Comparator.comparing(TaskSummary::dueDate)
+            .thenComparing(TaskSummary::id);
+
+    private static final RowMapper<Task> TASK_ROW = (rs, rowNum) -> {
+        Task task = new Task();
+        task.setId(rs.getLong("id"));
+        task.setTitle(rs.getString("title"));
+        task.setDescription(rs.getString("description"));
+        task.setStatus(status(rs));
+        task.setPriority(priority(rs));
+        task.setDueDate(rs.getObject("due_date", LocalDate.class));
+        task.setVersion(rs.getObject("version", Long.class));
+        return task;
+    };
+    private static final RowMapper<TaskSummary> SUMMARY_ROW = (rs, rowNum) -> new TaskSummary(rs.getLong("id"),
+            rs.getString("title"), status(rs), priority(rs), rs.getObject("due_date", LocalDate.class));
+    private static final RowMapper<TaskSnapshot> SNAPSHOT_ROW = (rs, rowNum) -> TaskSnapshot.of(TASK_ROW.mapRow(rs, rowNum));
+
+    private record Shard(int index, HikariDataSource dataSource, NamedParameterJdbcTemplate jdbc, TaskIdAllocator ids) {
+    }
+
+    private final List<Shard> shards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedTaskStore(@Value("${tasks.sharding.shards:4}") int shardCount,
+                            @Value("${tasks.sharding.url:jdbc:h2:mem:task-shard-{shard};DB_CLOSE_DELAY=-1}") String url,
+                            @Value("${tasks.sharding.pool-size:10}") int poolSize,
+                            @Value("${tasks.write-behind.enabled:false}") boolean writeBehind) {
+        if (writeBehind) {
+            throw new IllegalStateException("tasks.write-behind.enabled writes to the main database; it needs tasks.store=jpa");
+        }
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("tasks.sharding.shards must be at least 1");
+        }
+        List<Shard> opened = new ArrayList<>(shardCount);
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                opened.add(open(i, url.replace("{shard}", Integer.toString(i)), poolSize));
+            }
+        } catch (RuntimeException e) {
+            opened.forEach(shard -> shard.dataSource().close());
+            throw e;
+        }
+        this.shards = List.copyOf(opened);
+    }
+
+    private static Shard open(int index, String url, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setMaximumPoolSize(poolSize);
+        config.setPoolName("task-shard-" + index);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        try {
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+        return new Shard(index, dataSource, new NamedParameterJdbcTemplate(jdbcTemplate), new TaskIdAllocator(jdbcTemplate));
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public <S extends Task> S save(S task) {
+        if (task.getId() == null) {
+            Shard shard = shards.get(Math.floorMod(nextShard.getAndIncrement(), shards.size()));
+            long id = (shard.ids().next() - 1) * shards.size() + shard.index() + 1;
+            shard.jdbc().update("insert into task (" + COLUMNS + ") values (:id, :title, :description, :status, "
+                    + ":priority, :dueDate, 0)", columns(task).addValue("id", id));
+            task.setId(id);
+            task.setVersion(0L);
+            return task;
+        }
+        String sql = "select version from final table (update task set title = :title, description = :description, "
+                + "status = :status, priority = :priority, due_date = :dueDate, version = version + 1 where id = :id"
+                + (task.getVersion() == null ? "" : " and version = :version") + ")";
+        List<Long> versions = shardOf(task.getId()).jdbc().queryForList(sql,
+                columns(task).addValue("id", task.getId()).addValue("version", task.getVersion()), Long.class);
+        if (versions.isEmpty()) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+        task.setVersion(versions.get(0));
+        return task;
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S task) {
+        return save(task);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return shardOf(id).jdbc().query("select " + COLUMNS + " from task where id = :id", Map.of("id", id), TASK_ROW)
+                .stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return !shardOf(id).jdbc().queryForList("select id from task where id = :id", Map.of("id", id), Long.class).isEmpty();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return merge(scatter(shard -> shard.jdbc().query("select " + COLUMNS + " from task order by id", TASK_ROW)),
+                BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Long> list = new ArrayList<>();
+        ids.forEach(list::add);
+        return gather(list, (shard, shardIds) -> shard.jdbc().query("select " + COLUMNS + " from task where id in (:ids)",
+                Map.of("ids", shardIds), TASK_ROW));
+    }
+
+    @Override
+    public List<TaskSummary> findAllSummaries() {
+        return merge(scatter(shard -> shard.jdbc().query("select " + SUMMARY_COLUMNS + " from task order by id", SUMMARY_ROW)),
+                SUMMARY_BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findPageAfter(long after, TaskStatus status, Priority priority, LocalDate dueAfter,
+                                    LocalDate dueBefore, Limit limit) {
+        return page(COLUMNS, TASK_ROW, BY_ID, after, status, priority, dueAfter, dueBefore, limit);
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryPageAfter(long after, TaskStatus status, Priority priority, LocalDate dueAfter,
+                                                  LocalDate dueBefore, Limit limit) {
+        return page(SUMMARY_COLUMNS, SUMMARY_ROW, SUMMARY_BY_ID, after, status, priority, dueAfter, dueBefore, limit);
+    }
+
+    @Override
+    public List<Task> findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                             LocalDate from, LocalDate to) {
+        return byDueDate(COLUMNS, TASK_ROW, BY_DUE_DATE, "status = :status and priority = :priority and "
+                + "due_date between :from and :to", dueParameters(status, priority, from, to));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                                           LocalDate from, LocalDate to) {
+        return byDueDate(SUMMARY_COLUMNS, SUMMARY_ROW, SUMMARY_BY_DUE_DATE, "status = :status and priority = :priority and "
+                + "due_date between :from and :to", dueParameters(status, priority, from, to));
+    }
+
+    @Override
+    public List<Task> findByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to) {
+        return byDueDate(COLUMNS, TASK_ROW, BY_DUE_DATE, "due_date between :from and :to", dueParameters(null, null, from, to));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to) {
+        return byDueDate(SUMMARY_COLUMNS, SUMMARY_ROW, SUMMARY_BY_DUE_DATE, "due_date between :from and :to",
+                dueParameters(null, null, from, to));
+    }
+
+    @Override
+    public List<Task> findByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status) {
+        return byDueDate(COLUMNS, TASK_ROW, BY_DUE_DATE, "due_date < :to and status <> :status",
+                dueParameters(status, null, null, date));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status) {
+        return byDueDate(SUMMARY_COLUMNS, SUMMARY_ROW, SUMMARY_BY_DUE_DATE, "due_date < :to and status <> :status",
+                dueParameters(status, null, null, date));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaryByIdIn(Collection<Long> ids) {
+        return gather(ids, (shard, shardIds) -> shard.jdbc().query("select " + SUMMARY_COLUMNS + " from task where id in (:ids)",
+                Map.of("ids", shardIds), SUMMARY_ROW));
+    }
+
+    @Override
+    public Stream<Object[]> streamOpenDueFrom(LocalDate from, TaskStatus completed) {
+        Map<String, Object> parameters = Map.of("from", from, "completed", completed.name());
+        return shards.stream().flatMap(shard -> shard.jdbc().queryForStream(
+                "select id, due_date from task where due_date >= :from and status <> :completed", parameters,
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getObject(2, LocalDate.class)}));
+    }
+
+    @Override
+    public List<Long> findIdsOpenAndDueOn(Collection<Long> ids, LocalDate dueDate, TaskStatus completed) {
+        return gather(ids, (shard, shardIds) -> shard.jdbc().queryForList(
+                "select id from task where id in (:ids) and due_date = :dueDate and status <> :completed",
+                Map.of("ids", shardIds, "dueDate", dueDate, "completed", completed.name()), Long.class));
+    }
+
+    @Override
+    public List<Long> findIdsMatching(TaskStatus status, LocalDate dueBefore, Limit limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String sql = "select id from task where 1 = 1" + filters(parameters, status, null, null, dueBefore)
+                + " order by id" + limit(parameters, limit);
+        return merge(scatter(shard -> shard.jdbc().queryForList(sql, parameters, Long.class)),
+                Comparator.naturalOrder(), max(limit));
+    }
+
+    @Override
+    public List<Object[]> countByStatusPriorityAndDueDate() {
+        String sql = "select status, priority, due_date, count(*) from task group by status, priority, due_date";
+        Map<List<Object>, Long> counts = new LinkedHashMap<>();
+        for (List<Object[]> rows : scatter(shard -> shard.jdbc().query(sql, (rs, rowNum) -> new Object[]{
+                status(rs), priority(rs), rs.getObject("due_date", LocalDate.class), rs.getLong(4)}))) {
+            for (Object[] row : rows) {
+                counts.merge(Arrays.asList(row[0], row[1], row[2]), (Long) row[3], Long::sum);
+            }
+        }
+        List<Object[]> merged = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> merged.add(new Object[]{key.get(0), key.get(1), key.get(2), count}));
+        return merged;
+    }
+
+    // One cursor per shard, read in step through the merge; closing the stream closes every cursor
+    @Override
+    public Stream<Task> streamAllByOrderById() {
+        List<Stream<Task>> cursors = new ArrayList<>(shards.size());
+        try {
+            for (Shard shard : shards) {
+                cursors.add(shard.jdbc().queryForStream("select " + COLUMNS + " from task order by id", Map.of(), TASK_ROW));
+            }
+            Iterator<Task> merged = new MergingIterator<>(cursors.stream().map(Stream::iterator).toList(), BY_ID);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> cursors.forEach(Stream::close));
+        } catch (RuntimeException e) {
+            cursors.forEach(Stream::close);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Object[]> streamSearchableText() {
+        return shards.stream().flatMap(shard -> shard.jdbc().queryForStream(
+                "select id, title, description, version from task", Map.of(),
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, Long.class)}));
+    }
+
+    @Override
+    public Optional<TaskSnapshot> patch(Long id, TaskPatch patch, Collection<Long> expectedVersions) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", id);
+        StringBuilder set = new StringBuilder();
+        if (patch.title() != null) {
+            set.append("title = :title, ");
+            parameters.addValue("title", patch.title());
+        }
+        if (patch.description() != null) {
+            set.append("description = :description, ");
+            parameters.addValue("description", patch.description());
+        }
+        if (patch.status() != null) {
+            set.append("status = :status, ");
+            parameters.addValue("status", patch.status().name());
+        }
+        if (patch.priority() != null) {
+            set.append("priority = :priority, ");
+            parameters.addValue("priority", patch.priority().name());
+        }
+        if (patch.dueDate() != null) {
+            set.append("due_date = :dueDate, ");
+            parameters.addValue("dueDate", patch.dueDate());
+        }
+        String where = " where id = :id";
+        if (expectedVersions != null) {
+            where += " and version in (:expectedVersions)";
+            parameters.addValue("expectedVersions", expectedVersions);
+        }
+        return shardOf(id).jdbc().query("select " + COLUMNS + " from old table (update task set " + set
+                + "version = version + 1" + where + ")", parameters, SNAPSHOT_ROW).stream().findFirst();
+    }
+
+    @Override
+    public Optional<TaskSnapshot> deleteTaskById(Long id) {
+        return shardOf(id).jdbc().query("select " + COLUMNS + " from old table (delete from task where id = :id)",
+                Map.of("id", id), SNAPSHOT_ROW).stream().findFirst();
+    }
+
+    @Override
+    public List<TaskSnapshot> deleteMatchingByIdIn(Collection<Long> ids, TaskStatus status, LocalDate dueBefore) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String filters = filters(parameters, status, null, null, dueBefore);
+        return gather(ids, (shard, shardIds) -> shard.jdbc().query("select " + COLUMNS + " from old table (delete from task "
+                + "where id in (:ids)" + filters + ")", new MapSqlParameterSource(parameters.getValues()).addValue("ids", shardIds),
+                SNAPSHOT_ROW));
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+        shards.forEach(shard -> shard.dataSource().close());
+    }
+
+    private Shard shardOf(long id) {
+        return shards.get((int) Math.floorMod(id - 1, (long) shards.size()));
+    }
+
+    private <T> List<T> page(String columns, RowMapper<T> mapper, Comparator<? super T> order, long after, TaskStatus status,
+                             Priority priority, LocalDate dueAfter, LocalDate dueBefore, Limit limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("after", after);
+        String sql = "select " + columns + " from task where id > :after"
+                + filters(parameters, status, priority, dueAfter, dueBefore) + " order by id" + limit(parameters, limit);
+        return merge(scatter(shard -> shard.jdbc().query(sql, parameters, mapper)), order, max(limit));
+    }
+
+    // Each shard sorts by (due_date, id), the same order the merge uses
+    private <T> List<T> byDueDate(String columns, RowMapper<T> mapper, Comparator<? super T> order, String where,
+                                  MapSqlParameterSource parameters) {
+        String sql = "select " + columns + " from task where " + where + " order by due_date, id";
+        return merge(scatter(shard -> shard.jdbc().query(sql, parameters, mapper)), order, Integer.MAX_VALUE);
+    }
+
+    // Run the query on every shard at once; a failure on any shard fails the whole call
+    private <T> List<T> scatter(Function<Shard, T> query) {
+        if (shards.size() == 1) {
+            return List.of(query.apply(shards.get(0)));
+        }
+        List<CompletableFuture<T>> results = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        try {
+            return results.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Split the ids by owning shard and query only those shards, in parallel
+    private <T> List<T> gather(Collection<Long> ids, BiFunction<Shard, List<Long>, List<T>> query) {
+        Map<Shard, List<Long>> byShard = new HashMap<>();
+        for (Long id : ids) {
+            byShard.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        if (byShard.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<Shard, List<Long>>> entries = List.copyOf(byShard.entrySet());
+        List<CompletableFuture<List<T>>> results = entries.stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> query.apply(entry.getKey(), entry.getValue()), executor))
+                .toList();
+        try {
+            return results.stream().flatMap(result -> result.join().stream()).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, int max) {
+        Iterator<T> merged = new MergingIterator<>(sorted.stream().map(List::iterator).toList(), order);
+        List<T> result = new ArrayList<>();
+        while (result.size() < max && merged.hasNext()) {
+            result.add(merged.next());
+        }
+        return result;
+    }
+
+    private static String filters(MapSqlParameterSource parameters, TaskStatus status, Priority priority,
+                                  LocalDate dueAfter, LocalDate dueBefore) {
+        StringBuilder where = new StringBuilder();
+        if (status != null) {
+            where.append(" and status = :status");
+            parameters.addValue("status", status.name());
+        }
+        if (priority != null) {
+            where.append(" and priority = :priority");
+            parameters.addValue("priority", priority.name());
+        }
+        if (dueAfter != null) {
+            where.append(" and due_date > :dueAfter");
+            parameters.addValue("dueAfter", dueAfter);
+        }
+        if (dueBefore != null) {
+            where.append(" and due_date < :dueBefore");
+            parameters.addValue("dueBefore", dueBefore);
+        }
+        return where.toString();
+    }
+
+    // Every shard returns up to the full limit: the merge cannot know in advance which shards the page comes from
+    private static String limit(MapSqlParameterSource parameters, Limit limit) {
+        if (!limit.isLimited()) {
+            return "";
+        }
+        parameters.addValue("limit", limit.max());
+        return " limit :limit";
+    }
+
+    private static int max(Limit limit) {
+        return limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+    }
+
+    private static MapSqlParameterSource dueParameters(TaskStatus status, Priority priority, LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("status", status == null ? null : status.name())
+                .addValue("priority", priority == null ? null : priority.name())
+                .addValue("from", from)
+                .addValue("to", to);
+    }
+
+    private static MapSqlParameterSource columns(Task task) {
+        return new MapSqlParameterSource()
+                .addValue("title", task.getTitle())
+                .addValue("description", task.getDescription())
+                .addValue("status", task.getStatus() == null ? null : task.getStatus().name())
+                .addValue("priority", task.getPriority() == null ? null : task.getPriority().name())
+                .addValue("dueDate", task.getDueDate());
+    }
+
+    private static TaskStatus status(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return status == null ? null : TaskStatus.valueOf(status);
+    }
+
+    private static Priority priority(ResultSet rs) throws SQLException {
+        String priority = rs.getString("priority");
+        return priority == null ? null : Priority.valueOf(priority);
+    }
+}
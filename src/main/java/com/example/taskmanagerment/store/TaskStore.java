@@ -0,0 +1,92 @@
+package com.example.taskmanagerment.store;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSummary;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Storage used by TaskService and the views rebuilt from it (statistics, search index, overdue wheel).
+// TaskRepository implements it over JPA/H2; tasks.store=columnar swaps in ColumnarTaskStore and
+// tasks.store=sharded ShardedTaskStore.
+// Semantics follow the SQL of the repository queries, including null handling: a comparison with a
+// null column (e.g. status <> COMPLETED, dueDate > x) does not match.
+public interface TaskStore {
+
+    <S extends Task> S save(S task);
+
+    // Save and make the new version visible at once (the JPA store flushes)
+    <S extends Task> S saveAndFlush(S task);
+
+    // Write out pending saves so their new versions are set (the other stores write on save)
+    void flush();
+
+    Optional<Task> findById(Long id);
+
+    boolean existsById(Long id);
+
+    List<Task> findAll();
+
+    List<Task> findAllById(Iterable<Long> ids);
+
+    List<TaskSummary> findAllSummaries();
+
+    // Keyset page: tasks with id greater than the cursor, optionally filtered, in id order
+    List<Task> findPageAfter(long after, TaskStatus status, Priority priority, LocalDate dueAfter, LocalDate dueBefore,
+                             Limit limit);
+
+    List<TaskSummary> findSummaryPageAfter(long after, TaskStatus status, Priority priority, LocalDate dueAfter,
+                                           LocalDate dueBefore, Limit limit);
+
+    List<Task> findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                      LocalDate from, LocalDate to);
+
+    List<TaskSummary> findSummaryByStatusAndPriorityAndDueDateBetweenOrderByDueDate(TaskStatus status, Priority priority,
+                                                                                    LocalDate from, LocalDate to);
+
+    List<Task> findByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to);
+
+    List<TaskSummary> findSummaryByDueDateBetweenOrderByDueDate(LocalDate from, LocalDate to);
+
+    List<Task> findByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status);
+
+    List<TaskSummary> findSummaryByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate date, TaskStatus status);
+
+    List<TaskSummary> findSummaryByIdIn(Collection<Long> ids);
+
+    // (id, dueDate) of open tasks due on or after the given day
+    Stream<Object[]> streamOpenDueFrom(LocalDate from, TaskStatus completed);
+
+    // Which of the given tasks are still open and still due on that day
+    List<Long> findIdsOpenAndDueOn(Collection<Long> ids, LocalDate dueDate, TaskStatus completed);
+
+    // Next chunk of ids matching bulk-delete criteria, in id order
+    List<Long> findIdsMatching(TaskStatus status, LocalDate dueBefore, Limit limit);
+
+    // (status, priority, dueDate, count) per bucket
+    List<Object[]> countByStatusPriorityAndDueDate();
+
+    // Every task in id order; must be closed
+    Stream<Task> streamAllByOrderById();
+
+    // (id, title, description, version) of every task; must be closed
+    Stream<Object[]> streamSearchableText();
+
+    // Apply the non-null fields of the patch if the task is at one of the expected versions (null = any, never
+    // empty); returns the task as it was before, if one matched
+    Optional<TaskSnapshot> patch(Long id, TaskPatch patch, Collection<Long> expectedVersions);
+
+    // Returns the deleted task, if there was one
+    Optional<TaskSnapshot> deleteTaskById(Long id);
+
+    // Delete the given tasks that still match the criteria; returns the deleted tasks
+    List<TaskSnapshot> deleteMatchingByIdIn(Collection<Long> ids, TaskStatus status, LocalDate dueBefore);
+}
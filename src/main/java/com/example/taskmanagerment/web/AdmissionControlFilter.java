@@ -0,0 +1,130 @@
+package com.example.taskmanagerment.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Admission control for /api/tasks, ahead of TaskController. Each request is priced by what it costs the
+// database and taken from its client's token bucket (429 + Retry-After when the bucket is empty). While
+// PoolPressureMonitor reports a saturated connection pool, everything dearer than a single-row read is
+// turned away with 503 before it can queue for a connection.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public static final String BASE_PATH = "/api/tasks";
+
+    // Tokens per request, roughly the rows or statements it costs
+    static final int READ_COST = 1;         // by id, stats, change feed
+    static final int WRITE_COST = 2;        // create, update, patch, delete one task
+    static final int PAGE_COST = 5;         // keyset page, search, due and overdue lists
+    static final int BATCH_COST = 20;       // batch endpoint, bulk delete
+    static final int LIST_ALL_COST = 50;    // GET /api/tasks without paging: the whole table
+    static final int EXPORT_COST = 100;     // streaming export of the whole table
+
+    // Query parameters that turn GET /api/tasks into a keyset page (see TaskController.getAllTasks)
+    private static final Set<String> PAGE_PARAMETERS = Set.of("after", "limit", "status", "priority", "dueAfter", "dueBefore");
+
+    private final ClientRateLimiter rateLimiter;
+    private final PoolPressureMonitor poolPressure;
+    private final String clientHeader;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public AdmissionControlFilter(ClientRateLimiter rateLimiter, PoolPressureMonitor poolPressure, String clientHeader,
+                                  MeterRegistry meterRegistry) {
+        if (rateLimiter.burst() < EXPORT_COST) {
+            throw new IllegalArgumentException("tasks.admission.burst must be at least " + EXPORT_COST
+                    + " so every request can be admitted");
+        }
+        this.rateLimiter = rateLimiter;
+        this.poolPressure = poolPressure;
+        this.clientHeader = clientHeader == null || clientHeader.isBlank() ? null : clientHeader;
+        this.rateLimited = rejections(meterRegistry, "rate_limit");
+        this.shed = rejections(meterRegistry, "pool_saturated");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !path.equals(BASE_PATH) && !path.startsWith(BASE_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int cost = cost(request);
+        if (cost > READ_COST && poolPressure.isSaturated()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Database is saturated, retry later");
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire(client(request), cost);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Rate limit exceeded, retry later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    static int cost(HttpServletRequest request) {
+        String method = request.getMethod();
+        String rest = path(request).substring(BASE_PATH.length());
+        if ("GET".equals(method)) {
+            return switch (rest) {
+                case "", "/" -> request.getParameterMap().keySet().stream().anyMatch(PAGE_PARAMETERS::contains)
+                        ? PAGE_COST : LIST_ALL_COST;
+                case "/export" -> EXPORT_COST;
+                case "/search", "/due", "/overdue" -> PAGE_COST;
+                default -> READ_COST;
+            };
+        }
+        if ("POST".equals(method) && rest.equals("/batch")) {
+            return BATCH_COST;
+        }
+        if ("DELETE".equals(method) && (rest.isEmpty() || rest.equals("/"))) {
+            return BATCH_COST;
+        }
+        return WRITE_COST;
+    }
+
+    private String client(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.admission.rejected")
+                .description("Requests turned away by AdmissionControlFilter")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanagerment.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Per-client token buckets using the generic cell rate algorithm (GCRA). Each bucket is a single number,
+// the theoretical arrival time (TAT) of the next request: a request costing c tokens pushes TAT c emission
+// intervals further and is admitted if TAT then lies at most `burst` intervals ahead of now. The update is
+// one compareAndSet, so concurrent requests from one client never block each other.
+// A client idle for longer than the burst window has a full bucket again, so expiring its entry after
+// that long loses nothing; max-clients caps memory when many clients are active at once.
+public class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int burst;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public ClientRateLimiter(double tokensPerSecond, int burst, long maxClients, LongSupplier clock) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000L / tokensPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.burst = burst;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos))
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    public ClientRateLimiter(double tokensPerSecond, int burst, long maxClients) {
+        this(tokensPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    public int burst() {
+        return burst;
+    }
+
+    // Take cost tokens from the client's bucket. Returns 0 when admitted, otherwise the nanoseconds
+    // until a request of this cost would be; a rejected request takes nothing.
+    public long tryAcquire(String client, int cost) {
+        long now = clock.getAsLong();
+        AtomicLong tat = buckets.get(client, key -> new AtomicLong(now));
+        long increment = intervalNanos * cost;
+        while (true) {
+            long current = tat.get();
+            long next = (current - now > 0 ? current : now) + increment;
+            long ahead = next - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
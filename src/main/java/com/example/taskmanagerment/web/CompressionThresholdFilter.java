@@ -0,0 +1,179 @@
+package com.example.taskmanagerment.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+// Makes server.compression.min-response-size apply to message-converter bodies. Spring flushes the
+// stream after writing a body, which commits the response before Tomcat knows its length, and Tomcat
+// then compresses regardless of size. This filter holds back the first min-response-size bytes of a
+// synchronous response and ignores flushes meanwhile: a body that ends below the threshold goes out
+// with a Content-Length (and uncompressed); a longer one streams on as before. Async responses (SSE,
+// exports) pass straight through so their flushes still reach the client.
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public CompressionThresholdFilter(@Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.threshold = (int) minResponseSize.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HoldBackResponse held = new HoldBackResponse(request, response, threshold);
+        chain.doFilter(request, held);
+        if (!request.isAsyncStarted()) {
+            held.finish();
+        }
+    }
+
+    private static final class HoldBackResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final int threshold;
+        private ByteArrayOutputStream held = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        HoldBackResponse(HttpServletRequest request, HttpServletResponse response, int threshold) {
+            super(response);
+            this.request = request;
+            this.threshold = threshold;
+        }
+
+        private boolean holding() {
+            return held != null && !request.isAsyncStarted() && request.getDispatcherType() != DispatcherType.ASYNC;
+        }
+
+        // Stop holding: send what was held and write through from now on
+        private void release() throws IOException {
+            if (held != null) {
+                ByteArrayOutputStream bytes = held;
+                held = null;
+                bytes.writeTo(super.getOutputStream());
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (held != null && held.size() > 0 && !isCommitted() && getHeader("Content-Length") == null) {
+                setContentLength(held.size());
+            }
+            release();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new HoldBackOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                String encoding = getCharacterEncoding();
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(encoding)));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (!holding()) {
+                release();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (held != null) {
+                held.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (held != null) {
+                held.reset();
+            }
+        }
+
+        private final class HoldBackOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (holding() && held.size() + length < threshold) {
+                    held.write(bytes, offset, length);
+                    return;
+                }
+                release();
+                HoldBackResponse.super.getOutputStream().write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!holding()) {
+                    release();
+                    HoldBackResponse.super.getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!holding()) {
+                    release();
+                    HoldBackResponse.super.getOutputStream().close();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    HoldBackResponse.super.getOutputStream().setWriteListener(listener);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanagerment.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Tells AdmissionControlFilter when requests are queueing for database connections. Each sample takes the
+// mean hikaricp.connections.acquire time since the previous sample; above max-pool-wait the pool counts as
+// saturated. An interval in which no connection was handed out at all while threads were waiting for one
+// (or one timed out) counts as saturated too, since the timer only records waits that ended.
+public class PoolPressureMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitNanos;
+    private long lastAcquires;
+    private double lastWaitNanos;
+    private double lastTimeouts;
+    private volatile boolean saturated;
+    private volatile double meanWaitNanos;
+
+    public PoolPressureMonitor(MeterRegistry meterRegistry, Duration maxPoolWait) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitNanos = maxPoolWait.toNanos();
+        Gauge.builder("tasks.admission.pool-wait", this, monitor -> monitor.meanWaitNanos / 1_000_000)
+                .description("Mean connection acquire time over the last sample, in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.admission.pool-sample-interval:PT0.25S}")
+    public synchronized void sample() {
+        long acquires = 0;
+        double waitNanos = 0;
+        for (Timer timer : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            acquires += timer.count();
+            waitNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double pending = meterRegistry.find("hikaricp.connections.pending").gauges().stream()
+                .mapToDouble(Gauge::value).sum();
+        double timeouts = meterRegistry.find("hikaricp.connections.timeout").counters().stream()
+                .mapToDouble(Counter::count).sum();
+
+        long newAcquires = acquires - lastAcquires;
+        meanWaitNanos = newAcquires == 0 ? 0 : (waitNanos - lastWaitNanos) / newAcquires;
+        saturated = timeouts > lastTimeouts
+                || (newAcquires == 0 ? pending > 0 : meanWaitNanos > maxWaitNanos);
+        lastAcquires = acquires;
+        lastWaitNanos = waitNanos;
+        lastTimeouts = timeouts;
+    }
+}
@@ -0,0 +1,17 @@
+-- Task table as mapped by com.example.taskmanagerment.entity.Task.
+-- Enum columns are plain varchar so adding a constant does not need a migration.
+create sequence task_seq start with 1 increment by 50;
+
+create table task (
+    id          bigint       not null,
+    title       varchar(100) not null,
+    description varchar(255) not null,
+    status      varchar(20),
+    priority    varchar(20),
+    due_date    date,
+    version     bigint,
+    primary key (id)
+);
+
+create index idx_task_status_priority_due on task (status, priority, due_date);
+create index idx_task_due_date on task (due_date);
@@ -0,0 +1,4 @@
+-- Covering index for the overdue rebuild scan (due_date >= ? and status <> ?); it also serves
+-- every lookup the single-column due_date index did, so that one is dropped.
+drop index idx_task_due_date;
+create index idx_task_due_status on task (due_date, status);
@@ -0,0 +1,13 @@
+-- Responses to POST /api/tasks by Idempotency-Key, written when tasks.idempotency.persistent=true
+-- so retries are still recognised after a restart. Rows older than tasks.idempotency.ttl are purged.
+create table idempotency_key (
+    idempotency_key varchar(255)  not null,
+    fingerprint     varchar(64)   not null,
+    status          int           not null,
+    location        varchar(255),
+    response        varchar(4000) not null,
+    created_at      timestamp     not null,
+    primary key (idempotency_key)
+);
+
+create index idx_idempotency_key_created on idempotency_key (created_at);
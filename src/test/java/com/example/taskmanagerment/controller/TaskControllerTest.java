@@ -1,8 +1,17 @@
 package com.example.taskmanagerment.controller;
 
+import com.example.taskmanagerment.dto.TaskFilter;
+import com.example.taskmanagerment.dto.TaskPage;
+import com.example.taskmanagerment.dto.TaskStats;
+import com.example.taskmanagerment.dto.TaskSummary;
 import com.example.taskmanagerment.entity.Task;
 import com.example.taskmanagerment.enums.Priority;
 import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.exception.BadRequestException;
+import com.example.taskmanagerment.exception.WriteBehindQueueFullException;
+import com.example.taskmanagerment.feed.TaskChangeFeed;
+import com.example.taskmanagerment.idempotency.IdempotencyStore;
+import com.example.taskmanagerment.service.TaskBatchService;
 import com.example.taskmanagerment.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,11 +20,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @WebMvcTest(TaskController.class)
 public class TaskControllerTest {
@@ -29,6 +44,15 @@ public class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskBatchService taskBatchService;
+
+    @MockBean
+    private TaskChangeFeed taskChangeFeed;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     @Test
     void testCreateTask_withInvalidData_shouldReturn400() throws Exception {
         // Invalid input (short title, empty description, invalid enum)
@@ -81,6 +105,57 @@ public class TaskControllerTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("PENDING")));
     }
 
+    @Test
+    void testCreateTask_withWriteBehind_shouldReturn202WithLocation() throws Exception {
+        Task queuedTask = new Task();
+        queuedTask.setId(51L);
+        queuedTask.setTitle("Queued task");
+        queuedTask.setDescription("Written by the flusher");
+        queuedTask.setVersion(0L);
+        Mockito.when(taskService.isWriteBehindEnabled()).thenReturn(true);
+        Mockito.when(taskService.enqueueTask(Mockito.any(Task.class))).thenReturn(queuedTask);
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Queued task\", \"description\": \"Written by the flusher\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/tasks/51"))
+                .andExpect(jsonPath("$.id").value(51));
+        Mockito.verify(taskService, Mockito.never()).createTask(Mockito.any(Task.class));
+    }
+
+    @Test
+    void testCreateTask_withFullWriteBehindQueue_shouldReturn503() throws Exception {
+        Mockito.when(taskService.isWriteBehindEnabled()).thenReturn(true);
+        Mockito.when(taskService.enqueueTask(Mockito.any(Task.class)))
+                .thenThrow(new WriteBehindQueueFullException("Too many tasks waiting to be written, retry later"));
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Queued task\", \"description\": \"Written by the flusher\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testCreateTask_withIdempotencyKey_shouldGoThroughStore() throws Exception {
+        Task storedTask = new Task();
+        storedTask.setId(7L);
+        storedTask.setTitle("Created once");
+        storedTask.setDescription("Replayed on retry");
+        Mockito.when(idempotencyStore.execute(Mockito.eq("retry-1"), Mockito.any(Task.class), Mockito.any()))
+                .thenReturn(ResponseEntity.status(201).header(IdempotencyStore.REPLAYED_HEADER, "true").body(storedTask));
+
+        mockMvc.perform(post("/api/tasks")
+                        .header(IdempotencyStore.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Created once\", \"description\": \"Replayed on retry\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(7));
+        Mockito.verify(taskService, Mockito.never()).createTask(Mockito.any(Task.class));
+    }
+
     @Test
     void testGetTaskById_withValidId_shouldReturn200() throws Exception {
         // Arrange
@@ -116,6 +191,29 @@ public class TaskControllerTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Task not found with id: 99")));
     }
 
+    @Test
+    void testStreamChanges_shouldSubscribeWithLastEventId() throws Exception {
+        mockMvc.perform(get("/api/tasks/changes").header("Last-Event-ID", "abc:41"))
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(taskChangeFeed).subscribe(Mockito.any(), Mockito.eq("abc:41"));
+    }
+
+    @Test
+    void testGetStatistics_shouldReturnCounts() throws Exception {
+        Mockito.when(taskService.getStatistics()).thenReturn(new TaskStats(6,
+                java.util.Map.of(TaskStatus.PENDING, 3L, TaskStatus.IN_PROGRESS, 2L, TaskStatus.COMPLETED, 1L),
+                java.util.Map.of(Priority.LOW, 1L, Priority.MEDIUM, 1L, Priority.HIGH, 4L),
+                2));
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.byStatus.PENDING").value(3))
+                .andExpect(jsonPath("$.byPriority.HIGH").value(4))
+                .andExpect(jsonPath("$.overdue").value(2));
+    }
+
     @Test
     void testUpdateTaskDescription_withValidId_shouldReturn200() throws Exception {
         // Arrange — existing task in DB
@@ -135,7 +233,7 @@ public class TaskControllerTest {
         updatedTask.setPriority(Priority.MEDIUM);
 
         // Mock service behavior
-        Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(Task.class))).thenReturn(updatedTask);
+        Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(Task.class), Mockito.isNull())).thenReturn(updatedTask);
 
         // Valid JSON body
         String updatedJson = """
@@ -159,7 +257,7 @@ public class TaskControllerTest {
     @Test
     void testUpdateTaskDescription_withInvalidId_shouldReturn404() throws Exception {
         // Mock service to throw exception
-        Mockito.when(taskService.updateTask(Mockito.eq(99L), Mockito.any(Task.class)))
+        Mockito.when(taskService.updateTask(Mockito.eq(99L), Mockito.any(Task.class), Mockito.isNull()))
                 .thenThrow(new com.example.taskmanagerment.exception.TaskNotFoundException("Task not found with id: 99"));
 
         // JSON body
@@ -205,7 +303,253 @@ public class TaskControllerTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Task not found with id: 99")));
     }
 
+    @Test
+    void testGetTaskById_shouldReturnETag_andHonourIfNoneMatch() throws Exception {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Polled task");
+        task.setVersion(3L);
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(task);
+
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Polled task")));
+    }
+
+    @Test
+    void testUpdateTask_withStaleIfMatch_shouldReturn412() throws Exception {
+        Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(Task.class), Mockito.eq(List.of(2L))))
+                .thenThrow(new com.example.taskmanagerment.exception.TaskVersionMismatchException("Task 1 is at version 3, not 2"));
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Stale edit", "description": "Based on an old copy", "status": "PENDING", "priority": "LOW"}
+                                """))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("not 2")));
+    }
+
+    @Test
+    void testUpdateTask_withIfMatchList_shouldAcceptEveryStrongListedVersion() throws Exception {
+        Task updatedTask = new Task();
+        updatedTask.setId(1L);
+        updatedTask.setTitle("Listed edit");
+        updatedTask.setVersion(6L);
+        Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(Task.class), Mockito.eq(List.of(5L, 7L))))
+                .thenReturn(updatedTask);
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"5\", W/\"2\", \"not-a-version\", \"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Listed edit", "description": "Either copy is fine", "status": "PENDING", "priority": "LOW"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""));
+    }
+
+    @Test
+    void testPatchTask_withIfMatchStar_shouldOnlyRequireTheTaskToExist() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"status": "COMPLETED"}
+                                """))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(taskService).patchTask(Mockito.eq(1L), Mockito.any(), Mockito.isNull());
+    }
+
+    @Test
+    void testPatchTask_shouldReturn204() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"status": "COMPLETED"}
+                                """))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(taskService).patchTask(1L, new com.example.taskmanagerment.dto.TaskPatch(null, null, TaskStatus.COMPLETED, null, null), null);
+    }
+
+    @Test
+    void testPatchTask_withInvalidId_shouldReturn404() throws Exception {
+        Mockito.doThrow(new com.example.taskmanagerment.exception.TaskNotFoundException("Task not found with id: 99"))
+                .when(taskService).patchTask(Mockito.eq(99L), Mockito.any(), Mockito.isNull());
+
+        mockMvc.perform(patch("/api/tasks/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"priority": "LOW"}
+                                """))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPatchTask_withShortTitle_shouldReturn400() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Hi"}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchTask_withBlankTitle_shouldReturn400() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "     "}
+                                """))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testPatchTask_withEmptyBody_shouldReturn400() throws Exception {
+        Mockito.doThrow(new BadRequestException("Patch needs at least one field to change"))
+                .when(taskService).patchTask(Mockito.eq(1L), Mockito.any(), Mockito.isNull());
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
 
+    @Test
+    void testPatchTask_withUnexpectedIllegalArgument_shouldReturn500() throws Exception {
+        Mockito.doThrow(new IllegalArgumentException("Key 0 is reserved"))
+                .when(taskService).patchTask(Mockito.eq(1L), Mockito.any(), Mockito.isNull());
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Renamed"}
+                                """))
+                .andExpect(status().isInternalServerError());
+    }
 
+    @Test
+    void testGetTasksPage_withCursorAndFilter_shouldReturnPageWithNextCursor() throws Exception {
+        Task task = new Task();
+        task.setId(42L);
+        task.setTitle("Paged task");
+        task.setDescription("Returned from a keyset page");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.HIGH);
+
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, Priority.HIGH, null, null);
+        Mockito.when(taskService.getTasksPage(10L, 1, filter)).thenReturn(new TaskPage<>(java.util.List.of(task), 42L));
+
+        mockMvc.perform(get("/api/tasks?after=10&limit=1&status=PENDING&priority=HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Paged task"))
+                .andExpect(jsonPath("$.nextCursor").value(42));
+    }
+
+    @Test
+    void testExportTasks_shouldStreamNdjson() throws Exception {
+        Task first = new Task();
+        first.setId(1L);
+        first.setTitle("First exported");
+        Task second = new Task();
+        second.setId(2L);
+        second.setTitle("Second exported");
+
+        Mockito.doAnswer(invocation -> {
+            java.util.function.Consumer<Task> sink = invocation.getArgument(0);
+            sink.accept(first);
+            sink.accept(second);
+            return null;
+        }).when(taskService).exportTasks(Mockito.any());
+
+        var result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        org.junit.jupiter.api.Assertions.assertEquals(2, lines.length);
+        org.junit.jupiter.api.Assertions.assertTrue(lines[0].contains("First exported"));
+        org.junit.jupiter.api.Assertions.assertTrue(lines[1].contains("Second exported"));
+    }
+
+    @Test
+    void testGetTasksDueBetween_shouldPassRangeAndFilters() throws Exception {
+        Task task = new Task();
+        task.setId(5L);
+        task.setTitle("Due this week");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.HIGH);
+
+        Mockito.when(taskService.getTasksDueBetween(java.time.LocalDate.of(2024, 1, 1), java.time.LocalDate.of(2024, 1, 7),
+                TaskStatus.PENDING, Priority.HIGH)).thenReturn(java.util.List.of(task));
+
+        mockMvc.perform(get("/api/tasks/due?from=2024-01-01&to=2024-01-07&status=PENDING&priority=HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Due this week"));
+    }
+
+    @Test
+    void testGetTasksDueBetween_withoutRange_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks/due?from=2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Missing required parameter 'to'")));
+    }
+
+    @Test
+    void testGetTasksPage_withSummaryView_shouldReturnSummaryRows() throws Exception {
+        TaskSummary summary = new TaskSummary(42L, "Paged task", TaskStatus.PENDING, Priority.HIGH, null);
+        Mockito.when(taskService.getTaskSummariesPage(null, 1, TaskFilter.none()))
+                .thenReturn(new TaskPage<>(java.util.List.of(summary), 42L));
+
+        mockMvc.perform(get("/api/tasks?limit=1&view=summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Paged task"))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(42));
+        Mockito.verify(taskService, Mockito.never()).getTasksPage(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testGetOverdueTasks_withSummaryView_shouldUseSummaryQuery() throws Exception {
+        Mockito.when(taskService.getOverdueTaskSummaries()).thenReturn(java.util.List.of(
+                new TaskSummary(7L, "Late task", TaskStatus.PENDING, Priority.LOW, java.time.LocalDate.of(2024, 1, 1))));
+
+        mockMvc.perform(get("/api/tasks/overdue?view=SUMMARY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].dueDate").value("2024-01-01"));
+    }
+
+    @Test
+    void testGetTasks_withUnknownView_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks?view=compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Invalid value for 'view'")));
+    }
+
+    @Test
+    void testGetTasksPage_withInvalidStatus_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks?status=NOPE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Invalid value for 'status'")));
+    }
 
 }
@@ -0,0 +1,182 @@
+package com.example.taskmanagerment.feed;
+
+import com.example.taskmanagerment.dto.TaskChange;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskChangeFeedTest {
+
+    private final List<TaskChangeFeed> feeds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        feeds.forEach(TaskChangeFeed::destroy);
+    }
+
+    // ✅ Every one of thousands of subscribers receives every change, in order
+    @Test
+    void testFanOut_shouldDeliverEveryChangeToThousandsOfSubscribers() throws Exception {
+        TaskChangeFeed feed = newFeed(1024);
+        int subscribers = 5000;
+        int changes = 50;
+        CountDownLatch delivered = new CountDownLatch(subscribers * changes);
+        List<RecordingSink> sinks = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            RecordingSink sink = new RecordingSink(delivered);
+            sinks.add(sink);
+            feed.subscribe(sink, null);
+        }
+
+        for (long id = 1; id <= changes; id++) {
+            feed.onTaskChanged(created(id));
+        }
+
+        assertTrue(delivered.await(30, TimeUnit.SECONDS), "not every subscriber got every change");
+        List<Long> expected = LongStream.rangeClosed(1, changes).boxed().toList();
+        for (RecordingSink sink : sinks) {
+            assertEquals(expected, sink.ids());
+        }
+        assertEquals(subscribers, feed.subscriberCount());
+    }
+
+    // ✅ A stalled subscriber is told to resync while the others keep receiving every change
+    @Test
+    void testSlowSubscriber_shouldBeResyncedWithoutHoldingBackOthers() throws Exception {
+        TaskChangeFeed feed = newFeed(16);
+        CountDownLatch fastDelivered = new CountDownLatch(100);
+        RecordingSink fast = new RecordingSink(fastDelivered);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(new CountDownLatch(0)) {
+            @Override
+            public void send(String eventId, TaskChange change) throws java.io.IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(eventId, change);
+            }
+        };
+        feed.subscribe(slow, null);
+        feed.subscribe(fast, null);
+
+        // Publish in steps a healthy subscriber keeps up with; the stalled one falls a whole ring behind
+        for (long id = 1; id <= 100; id++) {
+            feed.onTaskChanged(created(id));
+            if (id % 8 == 0) {
+                long sent = id;
+                awaitUntil(() -> fast.changes.size() == sent);
+            }
+        }
+        assertTrue(fastDelivered.await(10, TimeUnit.SECONDS), "fast subscriber was held back");
+        assertTrue(fast.resyncs.isEmpty());
+
+        release.countDown();
+        assertTrue(slow.closed.await(10, TimeUnit.SECONDS));
+        assertEquals(1, slow.resyncs.size());
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    // ✅ Reconnecting with Last-Event-ID resumes right after it; an unknown id gets resync
+    @Test
+    void testLastEventId_shouldResumeOrResync() throws Exception {
+        TaskChangeFeed feed = newFeed(16);
+        CountDownLatch firstThree = new CountDownLatch(3);
+        RecordingSink first = new RecordingSink(firstThree);
+        feed.subscribe(first, null);
+        for (long id = 1; id <= 3; id++) {
+            feed.onTaskChanged(created(id));
+        }
+        assertTrue(firstThree.await(10, TimeUnit.SECONDS));
+
+        CountDownLatch resumed = new CountDownLatch(2);
+        RecordingSink reconnected = new RecordingSink(resumed);
+        feed.subscribe(reconnected, first.eventIds.get(0));
+        assertTrue(resumed.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(2L, 3L), reconnected.ids());
+
+        RecordingSink stale = new RecordingSink(new CountDownLatch(0));
+        feed.subscribe(stale, "previous-run:3");
+        assertEquals(1, stale.resyncs.size());
+        assertEquals(0, stale.closed.getCount());
+    }
+
+    private static void awaitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private TaskChangeFeed newFeed(int bufferSize) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        when(registry.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        TaskChangeFeed feed = new TaskChangeFeed(bufferSize, registry);
+        feeds.add(feed);
+        return feed;
+    }
+
+    private static TaskChangedEvent created(long id) {
+        return TaskChangedEvent.created(new TaskSnapshot(id, "Task " + id, "Fan-out test", TaskStatus.PENDING,
+                Priority.LOW, null, 0L));
+    }
+
+    private static class RecordingSink implements ChangeSink {
+
+        final List<String> eventIds = new CopyOnWriteArrayList<>();
+        final List<TaskChange> changes = new CopyOnWriteArrayList<>();
+        final List<String> resyncs = new CopyOnWriteArrayList<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch delivered;
+
+        RecordingSink(CountDownLatch delivered) {
+            this.delivered = delivered;
+        }
+
+        List<Long> ids() {
+            return changes.stream().map(TaskChange::id).toList();
+        }
+
+        @Override
+        public void send(String eventId, TaskChange change) throws java.io.IOException {
+            eventIds.add(eventId);
+            changes.add(change);
+            delivered.countDown();
+        }
+
+        @Override
+        public void resync(String reason) {
+            resyncs.add(reason);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        @Override
+        public void onClose(Runnable action) {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.taskmanagerment.idempotency;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.exception.BadRequestException;
+import com.example.taskmanagerment.exception.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger creates = new AtomicInteger();
+    private final IdempotencyStore store = newStore();
+
+    // ✅ A retry with the same key replays the first response and creates nothing
+    @Test
+    void testExecute_withSameKey_shouldReplayWithoutCreating() {
+        ResponseEntity<Task> first = store.execute("key-1", newTask("Buy milk"), this::create);
+        ResponseEntity<Task> retry = store.execute("key-1", newTask("Buy milk"), this::create);
+
+        assertEquals(1, creates.get());
+        assertEquals(201, retry.getStatusCode().value());
+        assertEquals(first.getBody().getId(), retry.getBody().getId());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1.0, registry.counter("tasks.idempotency.replayed").count());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    // ❌ Reusing a key for a different task is refused
+    @Test
+    void testExecute_withSameKeyAndDifferentBody_shouldThrow() {
+        store.execute("key-1", newTask("Buy milk"), this::create);
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> store.execute("key-1", newTask("Buy bread"), this::create));
+        assertEquals(1, creates.get());
+    }
+
+    // ✅ Concurrent duplicates wait for the first execution and all get its task
+    @Test
+    void testExecute_concurrently_shouldCreateOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<Task>> slowCreate = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return create();
+        };
+        List<Future<ResponseEntity<Task>>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> store.execute("key-1", newTask("Buy milk"), slowCreate)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<ResponseEntity<Task>> response : responses) {
+                assertEquals(1L, response.get(5, TimeUnit.SECONDS).getBody().getId());
+            }
+        }
+        assertEquals(1, creates.get());
+    }
+
+    // ✅ A failed create releases the key, so the retry runs it again
+    @Test
+    void testExecute_afterFailure_shouldRunAgain() {
+        assertThrows(DataAccessResourceFailureException.class, () -> store.execute("key-1", newTask("Buy milk"), () -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        }));
+
+        ResponseEntity<Task> retry = store.execute("key-1", newTask("Buy milk"), this::create);
+
+        assertEquals(1, creates.get());
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    // ❌ Blank and oversized keys are rejected before anything runs
+    @Test
+    void testExecute_withInvalidKey_shouldThrow() {
+        assertThrows(BadRequestException.class, () -> store.execute(" ", newTask("Buy milk"), this::create));
+        assertThrows(BadRequestException.class,
+                () -> store.execute("k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), newTask("Buy milk"), this::create));
+        assertEquals(0, creates.get());
+    }
+
+    // ✅ Only the fields a create uses go into the fingerprint
+    @Test
+    void testFingerprint_shouldIgnoreIdAndVersion() {
+        Task withId = newTask("Buy milk");
+        withId.setId(99L);
+        withId.setVersion(3L);
+
+        assertEquals(IdempotencyStore.fingerprint(newTask("Buy milk")), IdempotencyStore.fingerprint(withId));
+        assertNotEquals(IdempotencyStore.fingerprint(newTask("Buy milk")), IdempotencyStore.fingerprint(newTask("Buy milk ")));
+    }
+
+    private ResponseEntity<Task> create() {
+        Task created = newTask("Buy milk");
+        created.setId((long) creates.incrementAndGet());
+        created.setVersion(0L);
+        return ResponseEntity.status(201).body(created);
+    }
+
+    @SuppressWarnings("unchecked")
+    private IdempotencyStore newStore() {
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        when(meterRegistry.getIfAvailable(any())).thenReturn(registry);
+        return new IdempotencyStore(100, Duration.ofHours(1), false, jdbcTemplate, new ObjectMapper(), meterRegistry);
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Idempotency test");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(LocalDate.of(2026, 11, 1));
+        return task;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanagerment.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskIdAllocatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    // ✅ Ids drawn concurrently from virtual threads are unique and use one sequence call per block
+    @Test
+    void testNext_concurrently_shouldHandOutEachIdOnce() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> sequence.addAndGet(TaskIdAllocator.BLOCK_SIZE));
+        TaskIdAllocator allocator = new TaskIdAllocator(jdbcTemplate);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5_000; i++) {
+                executor.submit(() -> ids.add(allocator.next()));
+            }
+        }
+
+        assertEquals(5_000, ids.size());
+        assertEquals(1, ids.stream().mapToLong(Long::longValue).min().orElseThrow());
+        assertEquals(5_000, ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+        verify(jdbcTemplate, times(5_000 / TaskIdAllocator.BLOCK_SIZE)).queryForObject(anyString(), eq(Long.class));
+    }
+}
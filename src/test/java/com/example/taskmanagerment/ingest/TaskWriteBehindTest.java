@@ -0,0 +1,218 @@
+package com.example.taskmanagerment.ingest;
+
+import com.example.taskmanagerment.config.CacheConfig;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.exception.WriteBehindQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskWriteBehindTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // Titles of every row the mocked batch inserts, and the size of each batch
+    private final List<String> inserted = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    // The flusher waits on this inside its first insert until the test releases it
+    private final CountDownLatch flusherBusy = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<TaskWriteBehind> started = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AtomicLong sequence = new AtomicLong();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> sequence.addAndGet(TaskIdAllocator.BLOCK_SIZE));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<Object> rows = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            List<String> titles = new ArrayList<>();
+            PreparedStatement ps = mock(PreparedStatement.class);
+            doAnswer(call -> titles.add(call.getArgument(1))).when(ps).setString(eq(2), any());
+            for (Object row : rows) {
+                setter.setValues(ps, row);
+            }
+            flusherBusy.countDown();
+            release.await();
+            if (titles.contains("Bad row")) {
+                throw new DataIntegrityViolationException("value too long for description");
+            }
+            inserted.addAll(titles);
+            batchSizes.add(titles.size());
+            return new int[][]{};
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        started.forEach(TaskWriteBehind::stop);
+    }
+
+    // ✅ A queued task gets an id at once and is readable until its batch is written
+    @Test
+    void testSubmit_shouldServeQueuedTaskUntilFlushed() throws Exception {
+        TaskWriteBehind writeBehind = start(100, 10);
+
+        Task queued = writeBehind.submit(newTask("Queued task"));
+        assertEquals(1L, queued.getId());
+        assertEquals(0L, queued.getVersion());
+        assertTrue(flusherBusy.await(5, TimeUnit.SECONDS));
+        assertEquals("Queued task", writeBehind.findPending(1L).orElseThrow().getTitle());
+
+        release.countDown();
+        writeBehind.awaitFlushed(1L);
+
+        assertTrue(writeBehind.findPending(1L).isEmpty());
+        assertEquals(List.of("Queued task"), inserted);
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+        verify(transactionManager).commit(any());
+    }
+
+    // ❌ With the flusher stuck and the queue full, submit gives up after the offer timeout
+    @Test
+    void testSubmit_withFullQueue_shouldReject() throws Exception {
+        TaskWriteBehind writeBehind = start(2, 10);
+        writeBehind.submit(newTask("Being written"));
+        assertTrue(flusherBusy.await(5, TimeUnit.SECONDS));
+        writeBehind.submit(newTask("Queued 1"));
+        writeBehind.submit(newTask("Queued 2"));
+
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehind.submit(newTask("One too many")));
+
+        assertEquals(1.0, registry.counter("tasks.write-behind.rejected").count());
+        assertEquals(2.0, registry.get("tasks.write-behind.queued").gauge().value());
+        assertTrue(writeBehind.findPending(4L).isEmpty());
+    }
+
+    // ❌ A task read (and cached) while its submit waited for queue space is evicted when the submit is rejected
+    @Test
+    void testSubmit_rejected_shouldEvictTaskCachedWhileWaiting() throws Exception {
+        CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASK_CACHE);
+        Cache cache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        TaskWriteBehind writeBehind = start(2, 10, cacheManager);
+        writeBehind.submit(newTask("Being written"));
+        assertTrue(flusherBusy.await(5, TimeUnit.SECONDS));
+        writeBehind.submit(newTask("Queued 1"));
+        writeBehind.submit(newTask("Queued 2"));
+        // Same as a getTaskById miss for the id the rejected task is about to get
+        CompletableFuture<Boolean> reader = CompletableFuture.supplyAsync(() -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline) {
+                Optional<Task> queued = writeBehind.findPending(4L);
+                if (queued.isPresent()) {
+                    cache.put(4L, queued.get());
+                    return true;
+                }
+            }
+            return false;
+        });
+
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehind.submit(newTask("One too many")));
+
+        assertTrue(reader.get(5, TimeUnit.SECONDS));
+        assertNull(cache.get(4L));
+    }
+
+    // ✅ Queued tasks are written in batches and stop() drains whatever is left
+    @Test
+    void testStop_shouldDrainQueueInBatches() throws Exception {
+        TaskWriteBehind writeBehind = start(100, 10);
+        writeBehind.submit(newTask("Task 0"));
+        assertTrue(flusherBusy.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 25; i++) {
+            writeBehind.submit(newTask("Task " + i));
+        }
+
+        release.countDown();
+        writeBehind.stop();
+
+        assertEquals(26, inserted.size());
+        assertEquals(List.of(1, 10, 10, 5), batchSizes);
+        assertEquals(0, writeBehind.queued());
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehind.submit(newTask("Too late")));
+    }
+
+    // ❌ A row the database rejects is dropped on its own; the rest of its batch is still written
+    @Test
+    void testFlush_withBadRow_shouldWriteTheRestOfTheBatch() throws Exception {
+        TaskWriteBehind writeBehind = start(100, 10);
+        writeBehind.submit(newTask("Task 0"));
+        assertTrue(flusherBusy.await(5, TimeUnit.SECONDS));
+        writeBehind.submit(newTask("Good row"));
+        Task bad = writeBehind.submit(newTask("Bad row"));
+        writeBehind.submit(newTask("Another good row"));
+
+        release.countDown();
+        writeBehind.awaitFlushed();
+
+        assertEquals(List.of("Task 0", "Good row", "Another good row"), inserted);
+        assertTrue(writeBehind.findPending(bad.getId()).isEmpty());
+        assertEquals(1.0, registry.counter("tasks.write-behind.failed").count());
+    }
+
+    private TaskWriteBehind start(int queueCapacity, int batchSize) {
+        return start(queueCapacity, batchSize, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TaskWriteBehind start(int queueCapacity, int batchSize, CacheManager cacheManager) {
+        ObjectProvider<CacheManager> cacheManagerProvider = mock(ObjectProvider.class);
+        when(cacheManagerProvider.getIfAvailable()).thenReturn(cacheManager);
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        when(meterRegistry.getIfAvailable(any())).thenReturn(registry);
+        TaskWriteBehind writeBehind = new TaskWriteBehind(true, queueCapacity, batchSize, Duration.ofMillis(50),
+                Duration.ofSeconds(10), jdbcTemplate, transactionManager, eventPublisher,
+                cacheManagerProvider, meterRegistry);
+        writeBehind.start();
+        started.add(writeBehind);
+        return writeBehind;
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Write-behind test");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
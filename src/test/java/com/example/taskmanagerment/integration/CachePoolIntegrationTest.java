@@ -0,0 +1,150 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.config.CacheConfig;
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.BatchOperationType;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// A write that evicts a cached task while a getTaskById load for it waits for a connection. The load holds
+// the cache entry lock, so the write must not hold a connection while it evicts: with a one-connection pool
+// that would be a deadlock, broken only by the load's connection timeout. (Flyway needs two connections at
+// startup, so the pool has two and the test keeps one of them checked out.)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cachepool",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+@AutoConfigureMockMvc
+class CachePoolIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Cache cache;
+    private Task saved;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        cache.clear();
+        saved = taskService.createTask(task("Pooled task"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        cache.clear();
+    }
+
+    // ✅ PUT evicts after its connection is back in the pool, so the waiting load gets it
+    @Test
+    void testPut_whileLoadWaitsForConnection_shouldNotDeadlock() throws Exception {
+        MvcResult result = writeDuringLoad(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task("Pooled task renamed"))));
+
+        assertEquals(200, result.getResponse().getStatus());
+    }
+
+    // ✅ A batch evicts after commit, once its connection is back in the pool
+    @Test
+    void testBatchUpdate_whileLoadWaitsForConnection_shouldNotDeadlock() throws Exception {
+        List<BatchOperation> batch = List.of(
+                new BatchOperation(BatchOperationType.UPDATE, saved.getId(), task("Pooled task renamed")));
+
+        MvcResult result = writeDuringLoad(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)));
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertNull(cache.get(saved.getId()));
+        assertEquals("Pooled task renamed", taskService.getTaskById(saved.getId()).getTitle());
+    }
+
+    private MvcResult writeDuringLoad(RequestBuilder write) throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicReference<Thread> writer = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (Connection held = dataSource.getConnection()) {
+            // Same shape as a synchronized getTaskById miss: entry lock first, then a connection
+            Future<Object> load = executor.submit(() -> cache.get(saved.getId(), () -> {
+                loading.countDown();
+                proceed.await();
+                return taskRepository.findById(saved.getId()).orElseThrow();
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<MvcResult> response = executor.submit(() -> {
+                writer.set(Thread.currentThread());
+                return mockMvc.perform(write).andReturn();
+            });
+            // Let the load ask for a connection once the write is stuck on the entry lock
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!response.isDone() && System.nanoTime() < deadline
+                    && (writer.get() == null || writer.get().getState() != Thread.State.BLOCKED)) {
+                Thread.sleep(10);
+            }
+            proceed.countDown();
+
+            assertNotNull(load.get(10, TimeUnit.SECONDS));
+            return response.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Evicted while a load waits for a connection");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        return task;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.store.ColumnarTaskStore;
+import com.example.taskmanagerment.store.TaskStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The API on tasks.store=columnar, on its own in-memory database (which must stay empty)
+@SpringBootTest(properties = {
+        "tasks.store=columnar",
+        "spring.datasource.url=jdbc:h2:mem:columnar"
+})
+@AutoConfigureMockMvc
+class ColumnarStoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskStore.findAll().forEach(task -> taskStore.deleteTaskById(task.getId()));
+    }
+
+    // ✅ Create, read, page, patch, update and delete go through the columnar store, never the task table
+    @Test
+    void testCrud_shouldUseColumnarStore() throws Exception {
+        assertInstanceOf(ColumnarTaskStore.class, taskStore);
+        long first = create("First columnar task", TaskStatus.PENDING);
+        long second = create("Second columnar task", TaskStatus.COMPLETED);
+
+        mockMvc.perform(get("/api/tasks/" + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("First columnar task"))
+                .andExpect(jsonPath("$.version").value(0));
+        mockMvc.perform(get("/api/tasks").param("after", String.valueOf(first)).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(second));
+
+        mockMvc.perform(patch("/api/tasks/" + first)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskPatch(null, null, TaskStatus.IN_PROGRESS, null, null))))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/tasks/" + second)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask("Renamed task", TaskStatus.COMPLETED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(get("/api/tasks/" + first))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(delete("/api/tasks/" + second)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + second)).andExpect(status().isNotFound());
+        assertEquals(0, taskRepository.count());
+    }
+
+    // ✅ Statistics and search follow writes made through the columnar store
+    @Test
+    void testStatsAndSearch_shouldFollowWrites() throws Exception {
+        create("Columnar searchable", TaskStatus.PENDING);
+        create("Another task", TaskStatus.COMPLETED);
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byStatus.COMPLETED").value(1));
+        mockMvc.perform(get("/api/tasks/search").param("q", "searchable"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Columnar searchable"));
+    }
+
+    private long create(String title, TaskStatus status) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask(title, status))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private static Task newTask(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Columnar integration test");
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(LocalDate.now().plusDays(3));
+        return task;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.TaskmanagermentApplication;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Starts the application twice on the same data directory, so it manages its own contexts
+class DurableStorageIntegrationTest {
+
+    @TempDir
+    Path dataDir;
+
+    // ✅ Tasks survive a clean restart, and the in-memory views are rebuilt from the file
+    @Test
+    void testRestart_shouldKeepTasks() {
+        long id;
+        try (ConfigurableApplicationContext context = start()) {
+            id = context.getBean(TaskService.class).createTask(newTask("Survives restarts")).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            TaskService taskService = context.getBean(TaskService.class);
+            assertEquals("Survives restarts", taskService.getTaskById(id).getTitle());
+            assertEquals(1, taskService.getStatistics().total());
+            assertEquals(1, taskService.searchTasks("survives", null, null).total());
+        }
+    }
+
+    // ✅ With write-delay 0 every committed task is recovered after the database is dropped without cleanup
+    @Test
+    void testUncleanShutdown_shouldRecoverCommittedTasks() {
+        try (ConfigurableApplicationContext context = start("tasks.h2.write-delay-ms=0")) {
+            TaskService taskService = context.getBean(TaskService.class);
+            for (int i = 0; i < 20; i++) {
+                taskService.createTask(newTask("Committed task " + i));
+            }
+            // Closes the files like a crash would: no final store, no compaction
+            context.getBean(JdbcTemplate.class).execute("SHUTDOWN IMMEDIATELY");
+        } catch (RuntimeException e) {
+            // The pool may complain about its dead connections while closing
+        }
+
+        try (ConfigurableApplicationContext context = start("tasks.h2.write-delay-ms=0")) {
+            assertEquals(20, context.getBean(TaskService.class).getStatistics().total());
+        }
+    }
+
+    // Passed as command-line arguments: default properties would lose to application-durable.properties
+    private ConfigurableApplicationContext start(String... extraProperties) {
+        String[] args = Stream.concat(Stream.of("tasks.data-dir=" + dataDir, "spring.devtools.restart.enabled=false",
+                        "spring.jpa.open-in-view=false"), Stream.of(extraProperties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TaskmanagermentApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("durable")
+                .run(args);
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Stored in the durable H2 file");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.LOW);
+        task.setDueDate(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.idempotency.IdempotencyStore;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Idempotency-Key on POST /api/tasks with the key table enabled, on its own in-memory database
+@SpringBootTest(properties = {
+        "tasks.idempotency.persistent=true",
+        "spring.datasource.url=jdbc:h2:mem:idempotency"
+})
+@AutoConfigureMockMvc
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        jdbcTemplate.update("delete from idempotency_key");
+    }
+
+    // ✅ A retried create returns the first task, flagged as a replay, and only one row exists
+    @Test
+    void testRetryWithSameKey_shouldNotCreateDuplicate() throws Exception {
+        String first = post("retry-1", newTask("Pay rent"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        String retry = post("retry-1", newTask("Pay rent"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.readTree(first), objectMapper.readTree(retry));
+        assertEquals(1, taskRepository.count());
+    }
+
+    // ❌ The same key with another body is refused with 422
+    @Test
+    void testSameKeyDifferentBody_shouldReturn422() throws Exception {
+        post("retry-2", newTask("Pay rent")).andExpect(status().isCreated());
+
+        post("retry-2", newTask("Pay gas bill")).andExpect(status().isUnprocessableEntity());
+
+        assertEquals(1, taskRepository.count());
+    }
+
+    // ✅ With the key table, a store that has never seen the key (e.g. after a restart) still replays it
+    @Test
+    void testPersistedKey_shouldReplayAfterRestart() throws Exception {
+        Task created = objectMapper.readValue(post("retry-3", newTask("Pay rent"))
+                .andReturn().getResponse().getContentAsString(), Task.class);
+
+        IdempotencyStore restarted = new IdempotencyStore(100, Duration.ofHours(1), true, jdbcTemplate, objectMapper,
+                meterRegistry);
+        ResponseEntity<Task> replay = restarted.execute("retry-3", newTask("Pay rent"), () -> {
+            throw new AssertionError("must not create again");
+        });
+
+        assertEquals(created.getId(), replay.getBody().getId());
+        assertEquals(0L, replay.getBody().getVersion());
+        assertEquals(1, taskRepository.count());
+    }
+
+    private ResultActions post(String key, Task task) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+                .header(IdempotencyStore.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)));
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Idempotency integration test");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.HIGH);
+        task.setDueDate(LocalDate.now().plusDays(5));
+        return task;
+    }
+}
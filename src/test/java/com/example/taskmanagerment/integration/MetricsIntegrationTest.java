@@ -0,0 +1,37 @@
+package com.example.taskmanagerment.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability  // Test slices disable metrics export by default; we need the Prometheus registry
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // ✅ Service, repository, HTTP, error and Hikari metrics all reach the Prometheus scrape
+    @Test
+    void testPrometheusEndpoint_shouldExposeTaskMetrics() throws Exception {
+        mockMvc.perform(get("/api/tasks/424242")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("tasks_service_seconds_bucket{method=\"getTaskById\",outcome=\"error\"")))
+                .andExpect(content().string(containsString("tasks_repository_seconds_bucket{method=\"findById\",outcome=\"success\"")))
+                .andExpect(content().string(containsString("tasks_errors_total{exception=\"TaskNotFoundException\"}")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")));
+    }
+}
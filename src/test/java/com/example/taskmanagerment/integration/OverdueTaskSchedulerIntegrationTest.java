@@ -0,0 +1,78 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskOverdueEvent;
+import com.example.taskmanagerment.overdue.OverdueTaskScheduler;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Not @Transactional: the scheduler only sees committed writes. The periodic tick is pushed out so the test drives it.
+@SpringBootTest(properties = "tasks.overdue.check-interval=PT1H")
+@RecordApplicationEvents
+class OverdueTaskSchedulerIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private OverdueTaskScheduler scheduler;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        scheduler.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    // ✅ An open task saved with a past due date is reported once; completed and rescheduled ones are not
+    @Test
+    void testTick_shouldPublishOverdueOnlyForOpenTasksStillPastDue() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Task late = taskService.createTask(newTask(TaskStatus.PENDING, yesterday));
+        Task completedLater = taskService.createTask(newTask(TaskStatus.IN_PROGRESS, yesterday));
+        Task rescheduled = taskService.createTask(newTask(TaskStatus.PENDING, yesterday));
+        taskService.createTask(newTask(TaskStatus.COMPLETED, yesterday));
+
+        taskService.patchTask(completedLater.getId(), new TaskPatch(null, null, TaskStatus.COMPLETED, null, null), null);
+        taskService.patchTask(rescheduled.getId(), new TaskPatch(null, null, null, null, LocalDate.now().plusDays(3)), null);
+
+        assertEquals(1, scheduler.tick());
+        assertEquals(List.of(new TaskOverdueEvent(late.getId(), yesterday)),
+                events.stream(TaskOverdueEvent.class).toList());
+        assertEquals(0, scheduler.tick());
+    }
+
+    private static Task newTask(TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle("Deadline task");
+        task.setDescription("Watched by the overdue scheduler");
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.replica.ReplicaSynchronizer;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Read/write splitting against a second in-memory H2 database kept in sync by ReplicaSynchronizer
+@SpringBootTest(properties = {
+        "tasks.replica.enabled=true",
+        "tasks.replica.url=jdbc:h2:mem:replica-it;DB_CLOSE_DELAY=-1",
+        "spring.datasource.url=jdbc:h2:mem:replicated"
+})
+@AutoConfigureMockMvc
+class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ReplicaSynchronizer replicaSynchronizer;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitReplica();
+        // Repository deletes publish no change events, so the replica is cleared directly
+        taskRepository.deleteAll();
+        new JdbcTemplate(replicaDataSource).update("delete from task");
+    }
+
+    // ✅ Committed writes reach the replica, and list reads in a GET are served from it
+    @Test
+    void testListRead_shouldUseReplicaOnceCaughtUp() throws Exception {
+        long id = create("Replicated");
+        awaitReplica();
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        assertEquals("Replicated", replica.queryForObject("select title from task where id = ?", String.class, id));
+
+        // Only the replica sees this title, so the response shows which database answered
+        replica.update("update task set title = 'Replica copy' where id = ?", id);
+        double before = reads("replica");
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Replica copy"));
+        assertTrue(reads("replica") > before);
+    }
+
+    // ❌ A getTaskById miss loads from the primary: the cache would keep a replica row for the whole TTL
+    @Test
+    void testGetById_shouldLoadFromPrimary() throws Exception {
+        long id = create("Primary row");
+        awaitReplica();
+        new JdbcTemplate(replicaDataSource).update("update task set title = 'Replica copy' where id = ?", id);
+
+        mockMvc.perform(get("/api/tasks/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Primary row"));
+    }
+
+    // ❌ A write request reads the primary's version, never the replica's
+    @Test
+    void testWriteRequest_shouldReadFromPrimary() throws Exception {
+        long id = create("Primary");
+        awaitReplica();
+        new JdbcTemplate(replicaDataSource).update("update task set title = 'Stale', version = 7 where id = ?", id);
+
+        mockMvc.perform(put("/api/tasks/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask("Updated"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        awaitReplica();
+        assertEquals("Updated", taskRepository.findById(id).orElseThrow().getTitle());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+    }
+
+    private void awaitReplica() throws InterruptedException {
+        for (int i = 0; i < 100 && replicaSynchronizer.lagNanos() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, replicaSynchronizer.lagNanos());
+    }
+
+    private double reads(String route) {
+        return meterRegistry.find("tasks.replica.reads").tag("route", route).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private long create(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask(title))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Replica integration test");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(LocalDate.now().plusDays(3));
+        return task;
+    }
+}
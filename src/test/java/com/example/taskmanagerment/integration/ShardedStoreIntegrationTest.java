@@ -0,0 +1,129 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.store.ShardedTaskStore;
+import com.example.taskmanagerment.store.TaskStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The API on tasks.store=sharded with three in-memory shards; the main task table must stay empty
+@SpringBootTest(properties = {
+        "tasks.store=sharded",
+        "tasks.sharding.shards=3",
+        "tasks.sharding.url=jdbc:h2:mem:sharded-it-{shard};DB_CLOSE_DELAY=-1",
+        "spring.datasource.url=jdbc:h2:mem:sharded"
+})
+@AutoConfigureMockMvc
+class ShardedStoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskStore.findAll().forEach(task -> taskStore.deleteTaskById(task.getId()));
+    }
+
+    // ✅ Tasks land on every shard; single-task requests find their shard and lists come back merged in id order
+    @Test
+    void testCrudAndLists_shouldRouteAndMerge() throws Exception {
+        assertInstanceOf(ShardedTaskStore.class, taskStore);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(create("Sharded task " + i));
+        }
+        Set<Long> shards = ids.stream().map(id -> (id - 1) % 3).collect(Collectors.toSet());
+        assertEquals(3, shards.size());
+
+        mockMvc.perform(put("/api/tasks/" + ids.get(1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask("Renamed"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(delete("/api/tasks/" + ids.get(2))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + ids.get(2))).andExpect(status().isNotFound());
+
+        List<Long> expected = ids.stream().filter(id -> !id.equals(ids.get(2))).sorted().toList();
+        MvcResult page = mockMvc.perform(get("/api/tasks").param("after", "0").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode items = objectMapper.readTree(page.getResponse().getContentAsString()).get("items");
+        assertEquals(expected.subList(0, 3), List.of(items.get(0).get("id").asLong(), items.get(1).get("id").asLong(),
+                items.get(2).get("id").asLong()));
+        assertEquals(0, taskRepository.count());
+    }
+
+    // ✅ The export streams every shard at once, merged into one id-ordered NDJSON body
+    @Test
+    void testExport_shouldMergeShardsInIdOrder() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            create("Exported " + i);
+        }
+
+        MvcResult started = mockMvc.perform(get("/api/tasks/export")).andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> exported = body.lines().map(this::readId).toList();
+        assertEquals(7, exported.size());
+        assertEquals(exported.stream().sorted().toList(), exported);
+    }
+
+    private long readId(String json) {
+        try {
+            return objectMapper.readTree(json).get("id").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long create(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask(title))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Sharded integration test");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.HIGH);
+        task.setDueDate(LocalDate.now().plusDays(5));
+        return task;
+    }
+}
@@ -91,6 +91,70 @@ class TaskIntegrationTest {
         assertEquals("Updated via Integration Test", updated.getDescription());
     }
 
+    // ✅ Test conditional PUT: current version applies, stale version gets 412
+    @Test
+    void testConditionalUpdateIntegration_shouldRejectStaleIfMatch() throws Exception {
+        Task saved = taskRepository.saveAndFlush(task);
+        long version = saved.getVersion();
+        String etag = "\"" + version + "\"";
+        saved.setDescription("First edit");
+        String json = objectMapper.writeValueAsString(saved);
+
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + (version + 1) + "\""));
+
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    // ✅ Test If-Match with a list of ETags or "*" (RFC 9110)
+    @Test
+    void testConditionalUpdateIntegration_withIfMatchListOrStar() throws Exception {
+        Task saved = taskRepository.saveAndFlush(task);
+        long version = saved.getVersion();
+        saved.setDescription("Edited against either copy");
+        String json = objectMapper.writeValueAsString(saved);
+
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                        .header("If-Match", "\"" + (version + 7) + "\", \"" + version + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + (version + 1) + "\""));
+
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                        .header("If-Match", "\"" + version + "\", \"" + (version + 7) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        // Strong comparison: a weak tag never matches, even for the current version
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                        .header("If-Match", "W/\"" + (version + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(patch("/api/tasks/999999")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     // ✅ Test Delete Task (DELETE)
     @Test
     void testDeleteTaskIntegration_shouldDeleteFromDB() throws Exception {
@@ -102,4 +166,66 @@ class TaskIntegrationTest {
 
         assertEquals(0, taskRepository.findAll().size());
     }
+
+    // ✅ Test bulk Delete by criteria (DELETE /api/tasks?status=...)
+    @Test
+    void testBulkDeleteIntegration_shouldDeleteMatchingTasksOnly() throws Exception {
+        taskRepository.save(task);
+        Task completed = new Task();
+        completed.setTitle("Old completed task");
+        completed.setDescription("Eligible for retention cleanup");
+        completed.setStatus(TaskStatus.COMPLETED);
+        completed.setPriority(Priority.LOW);
+        completed.setDueDate(LocalDate.now().minusDays(60));
+        taskRepository.save(completed);
+
+        mockMvc.perform(delete("/api/tasks?status=COMPLETED&dueBefore=" + LocalDate.now().minusDays(30)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+
+        assertEquals(1, taskRepository.findAll().size());
+    }
+
+    // ❌ Test bulk Delete without criteria is rejected
+    @Test
+    void testBulkDeleteIntegration_withoutCriteria_shouldReturn400() throws Exception {
+        mockMvc.perform(delete("/api/tasks"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ✅ Test Batch (create + update + delete + invalid + missing in one request)
+    @Test
+    void testBatchIntegration_shouldApplyValidOperationsAndReportFailures() throws Exception {
+        Task existing = taskRepository.save(task);
+        Task toDelete = new Task();
+        toDelete.setTitle("Delete me in batch");
+        toDelete.setDescription("Removed by the batch request");
+        toDelete.setStatus(TaskStatus.PENDING);
+        toDelete.setPriority(Priority.LOW);
+        toDelete = taskRepository.save(toDelete);
+
+        String json = """
+                [
+                  {"op": "CREATE", "task": {"title": "Batch created", "description": "From batch", "status": "PENDING", "priority": "LOW"}},
+                  {"op": "UPDATE", "id": %d, "task": {"title": "Batch updated", "description": "Changed in batch", "status": "IN_PROGRESS", "priority": "HIGH"}},
+                  {"op": "DELETE", "id": %d},
+                  {"op": "CREATE", "task": {"title": "No", "description": "", "status": "PENDING", "priority": "LOW"}},
+                  {"op": "DELETE", "id": 999999}
+                ]
+                """.formatted(existing.getId(), toDelete.getId());
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[3].status").value(400))
+                .andExpect(jsonPath("$[4].status").value(404));
+
+        taskRepository.flush();
+        assertEquals(2, taskRepository.findAll().size());
+        assertEquals("Batch updated", taskRepository.findById(existing.getId()).orElseThrow().getTitle());
+    }
 }
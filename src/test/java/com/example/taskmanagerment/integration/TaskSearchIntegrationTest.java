@@ -0,0 +1,117 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.BatchOperationType;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskBatchService;
+import com.example.taskmanagerment.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class TaskSearchIntegrationTest {  // Not @Transactional: the index only follows committed writes
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(TaskStatus.PENDING, null);
+    }
+
+    // ✅ Creates, patches and deletes show up in search results straight away
+    @Test
+    void testSearch_shouldFollowWrites() throws Exception {
+        Task invoice = taskService.createTask(newTask("Send invoice", "Quarterly invoice for the Zephyr account"));
+        taskService.createTask(newTask("Call Zephyr", "Discuss the renewal"));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "zephyr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Call Zephyr"));
+
+        taskService.patchTask(invoice.getId(), new TaskPatch("Send reminder", null, null, null, null), null);
+        mockMvc.perform(get("/api/tasks/search").param("q", "invoice"))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Send reminder"));
+
+        taskService.deleteTask(invoice.getId());
+        mockMvc.perform(get("/api/tasks/search").param("q", "zephyr").param("limit", "1"))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.nextOffset").doesNotExist());
+    }
+
+    // ✅ A batch publishes one event per updated task, carrying the version its commit wrote
+    @Test
+    void testBatchUpdate_shouldPublishCommittedVersion(ApplicationEvents events) throws Exception {
+        Task task = taskService.createTask(newTask("Draft agenda", "Weekly planning"));
+        List<BatchOperation> batch = List.of(
+                new BatchOperation(BatchOperationType.UPDATE, task.getId(), newTask("Review budget", "Weekly planning")),
+                new BatchOperation(BatchOperationType.UPDATE, task.getId(), newTask("Publish roadmap", "Weekly planning")));
+
+        taskBatchService.applyBatch(batch);
+
+        List<TaskChangedEvent> updates = events.stream(TaskChangedEvent.class)
+                .filter(event -> event.before() != null && event.after() != null)
+                .toList();
+        assertEquals(1, updates.size());
+        assertEquals("Draft agenda", updates.get(0).before().title());
+        assertEquals("Publish roadmap", updates.get(0).after().title());
+        assertEquals(taskRepository.findById(task.getId()).orElseThrow().getVersion(), updates.get(0).after().version());
+        mockMvc.perform(get("/api/tasks/search").param("q", "roadmap"))
+                .andExpect(jsonPath("$.total").value(1));
+    }
+
+    // ❌ A query without any word is rejected
+    @Test
+    void testSearch_withoutWords_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("q", " ?! "))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ❌ A negative offset, or one that would overflow offset + limit, is rejected instead of failing with 500
+    @Test
+    void testSearch_withOutOfRangeOffset_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("q", "zephyr").param("offset", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/search").param("q", "zephyr").param("offset", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Task newTask(String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        return task;
+    }
+}
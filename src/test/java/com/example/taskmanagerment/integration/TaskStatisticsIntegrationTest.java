@@ -0,0 +1,124 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskStats;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.BatchOperationType;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskBatchService;
+import com.example.taskmanagerment.service.TaskService;
+import com.example.taskmanagerment.stats.TaskStatistics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest  // Not @Transactional: counters only move when a write commits
+class TaskStatisticsIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        // Other tests in this context clean up through the repository, which the counters do not see
+        taskStatistics.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    // ✅ Counters follow every kind of write and agree with GROUP BY queries
+    @Test
+    void testStatistics_shouldMatchGroupByAfterWrites() {
+        LocalDate today = LocalDate.now();
+        Task overdue = taskService.createTask(newTask(TaskStatus.PENDING, Priority.HIGH, today.minusDays(2)));
+        Task dueToday = taskService.createTask(newTask(TaskStatus.IN_PROGRESS, Priority.MEDIUM, today));
+        Task completedLate = taskService.createTask(newTask(TaskStatus.COMPLETED, Priority.LOW, today.minusDays(40)));
+        Task undated = taskService.createTask(newTask(null, null, null));
+        taskService.createTask(newTask(TaskStatus.COMPLETED, Priority.HIGH, today.minusDays(50)));
+        assertMatchesDatabase();
+
+        taskService.updateTask(dueToday.getId(), newTask(TaskStatus.PENDING, Priority.LOW, today.minusDays(1)));
+        taskService.updateTask(undated.getId(), newTask(TaskStatus.IN_PROGRESS, Priority.HIGH, today.plusDays(7)), null);
+        taskService.patchTask(overdue.getId(), new TaskPatch(null, null, TaskStatus.COMPLETED, null, null), null);
+        assertMatchesDatabase();
+
+        taskService.deleteTask(completedLate.getId());
+        assertEquals(1, taskService.deleteTasks(TaskStatus.COMPLETED, today.minusDays(30)));
+        assertMatchesDatabase();
+
+        taskBatchService.applyBatch(List.of(
+                new BatchOperation(BatchOperationType.CREATE, null, newTask(TaskStatus.PENDING, Priority.MEDIUM, today.minusDays(3))),
+                new BatchOperation(BatchOperationType.UPDATE, dueToday.getId(), newTask(TaskStatus.COMPLETED, Priority.LOW, today)),
+                new BatchOperation(BatchOperationType.DELETE, overdue.getId(), null)));
+        assertMatchesDatabase();
+    }
+
+    private void assertMatchesDatabase() {
+        TaskStats stats = taskService.getStatistics();
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        entityManager.createQuery("select t.status, count(t) from Task t where t.status is not null group by t.status", Object[].class)
+                .getResultList()
+                .forEach(row -> byStatus.put((TaskStatus) row[0], (Long) row[1]));
+
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        entityManager.createQuery("select t.priority, count(t) from Task t where t.priority is not null group by t.priority", Object[].class)
+                .getResultList()
+                .forEach(row -> byPriority.put((Priority) row[0], (Long) row[1]));
+
+        long overdue = entityManager.createQuery(
+                        "select count(t) from Task t where t.dueDate < :today and t.status <> :completed", Long.class)
+                .setParameter("today", LocalDate.now())
+                .setParameter("completed", TaskStatus.COMPLETED)
+                .getSingleResult();
+
+        assertEquals(taskRepository.count(), stats.total());
+        assertEquals(byStatus, stats.byStatus());
+        assertEquals(byPriority, stats.byPriority());
+        assertEquals(overdue, stats.overdue());
+    }
+
+    private static Task newTask(TaskStatus status, Priority priority, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle("Counted task");
+        task.setDescription("Tracked by the statistics counters");
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
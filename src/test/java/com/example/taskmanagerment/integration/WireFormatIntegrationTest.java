@@ -0,0 +1,124 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// CBOR/Smile content negotiation and gzip compression through the real Tomcat connector
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WireFormatIntegrationTest {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+    private final ObjectMapper smileMapper = SmileMapper.builder().addModule(new JavaTimeModule()).build();
+    private final ObjectMapper jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<Long> created = new ArrayList<>();
+
+    // The database is shared with the other integration tests, which count rows
+    @AfterEach
+    void deleteCreatedTasks() throws Exception {
+        for (long id : created) {
+            send(HttpRequest.newBuilder(uri("/api/tasks/" + id)).DELETE());
+        }
+    }
+
+    @Test
+    void testCreateAsCbor_shouldReadBackAsSmileAndJson() throws Exception {
+        Task task = newTask("Binary wire task");
+        HttpResponse<byte[]> created = send(HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Content-Type", CBOR)
+                .header("Accept", CBOR)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(cborMapper.writeValueAsBytes(task))));
+
+        assertEquals(201, created.statusCode());
+        assertEquals(CBOR, created.headers().firstValue("Content-Type").orElseThrow());
+        Task saved = cborMapper.readValue(created.body(), Task.class);
+        this.created.add(saved.getId());
+        assertEquals("Binary wire task", saved.getTitle());
+        assertEquals(task.getDueDate(), saved.getDueDate());
+
+        HttpResponse<byte[]> smile = send(HttpRequest.newBuilder(uri("/api/tasks/" + saved.getId())).header("Accept", SMILE));
+        assertEquals(SMILE, smile.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("Binary wire task", smileMapper.readValue(smile.body(), Task.class).getTitle());
+
+        // No Accept header: JSON stays the default
+        HttpResponse<byte[]> json = send(HttpRequest.newBuilder(uri("/api/tasks/" + saved.getId())));
+        assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertEquals(saved.getId(), jsonMapper.readValue(json.body(), Task.class).getId());
+    }
+
+    @Test
+    void testLargeResponse_shouldBeGzippedWhenAccepted() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(newTask("Compressed task " + i)))));
+            created.add(jsonMapper.readValue(response.body(), Task.class).getId());
+        }
+
+        HttpResponse<byte[]> page = send(HttpRequest.newBuilder(uri("/api/tasks?limit=30&after=" + (created.get(0) - 1)))
+                .header("Accept-Encoding", "gzip"));
+        assertEquals("gzip", page.headers().firstValue("Content-Encoding").orElse(null));
+        Map<String, Object> body = jsonMapper.readValue(gunzip(page.body()), new TypeReference<>() {
+        });
+        assertEquals(30, ((List<?>) body.get("items")).size());
+
+        // Below min-response-size the body goes out as is
+        HttpResponse<byte[]> small = send(HttpRequest.newBuilder(uri("/api/tasks?limit=1")).header("Accept-Encoding", "gzip"));
+        assertTrue(small.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(small.headers().firstValue("Content-Length").isPresent());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Sent over HTTP in a binary or compressed encoding");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(LocalDate.now().plusDays(2));
+        return task;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.ingest.TaskWriteBehind;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// POST /api/tasks through the write-behind queue, on its own in-memory database
+@SpringBootTest(properties = {
+        "tasks.write-behind.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:writebehind"
+})
+@AutoConfigureMockMvc
+class WriteBehindIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskWriteBehind taskWriteBehind;
+
+    @AfterEach
+    void tearDown() {
+        taskWriteBehind.awaitFlushed();
+        taskRepository.deleteAll();
+    }
+
+    // ✅ Create answers 202 with a Location that can be read at once, and the task is written soon after
+    @Test
+    void testCreate_shouldAcceptAndPersistInBackground() throws Exception {
+        long id = create("Written behind");
+
+        mockMvc.perform(get("/api/tasks/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Written behind"))
+                .andExpect(jsonPath("$.version").value(0));
+
+        taskWriteBehind.awaitFlushed(id);
+        Task stored = taskRepository.findById(id).orElseThrow();
+        assertEquals("Written behind", stored.getTitle());
+        assertEquals(0L, stored.getVersion());
+    }
+
+    // ✅ An update right after the create waits for the insert instead of failing with 404
+    @Test
+    void testUpdateRightAfterCreate_shouldApplyToTheWrittenRow() throws Exception {
+        long id = create("Before update");
+
+        mockMvc.perform(put("/api/tasks/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask("After update"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        assertEquals("After update", taskRepository.findById(id).orElseThrow().getTitle());
+    }
+
+    // ✅ Ids come from task_seq blocks, so they never collide with tasks created through JPA
+    @Test
+    void testIds_shouldNotCollideWithJpaInserts() throws Exception {
+        long queued = create("Queued");
+        Task saved = taskRepository.save(newTask("Saved through JPA"));
+        taskWriteBehind.awaitFlushed();
+
+        assertNotEquals(queued, saved.getId());
+        assertEquals(2, taskRepository.count());
+    }
+
+    // ❌ A description longer than its column is refused with 400 before it is queued, not lost in the flush
+    @Test
+    void testCreate_shouldRejectOverlongDescription() throws Exception {
+        Task task = newTask("Too long");
+        task.setDescription("x".repeat(300));
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("Location"));
+        taskWriteBehind.awaitFlushed();
+        assertEquals(0, taskRepository.count());
+    }
+
+    private long create(String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask(title))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals("/api/tasks/" + body.get("id").asLong(), result.getResponse().getHeader("Location"));
+        return body.get("id").asLong();
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Write-behind integration test");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.LOW);
+        task.setDueDate(LocalDate.now().plusDays(2));
+        return task;
+    }
+}
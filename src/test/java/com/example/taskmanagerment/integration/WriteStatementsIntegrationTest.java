@@ -0,0 +1,108 @@
+package com.example.taskmanagerment.integration;
+
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.BatchOperationType;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.service.TaskBatchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement counts for deletes. A batch mixing updates and deletes is written by one flush before commit, so
+// Hibernate can send each kind of statement as one JDBC batch; a delete that ran its own statement would flush
+// everything queued before it. A delete on its own is one statement that also returns the deleted row.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writestatements",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class WriteStatementsIntegrationTest {
+
+    private static final int TASKS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Task> saved;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(task("Batched task " + i));
+        }
+        saved = taskRepository.saveAll(tasks);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    // ✅ Interleaved updates and deletes are written together: one select for the batch's tasks, then one
+    // UPDATE and one DELETE statement, each sent as a JDBC batch (not a flush per delete)
+    @Test
+    void testApplyBatch_withUpdatesAndDeletes_shouldWriteInJdbcBatches() {
+        List<BatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < TASKS; i += 2) {
+            operations.add(new BatchOperation(BatchOperationType.UPDATE, saved.get(i).getId(), task("Renamed task " + i)));
+            operations.add(new BatchOperation(BatchOperationType.DELETE, saved.get(i + 1).getId(), null));
+        }
+
+        taskBatchService.applyBatch(operations);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(TASKS / 2, statistics.getEntityUpdateCount());
+        assertEquals(TASKS / 2, statistics.getEntityDeleteCount());
+        assertEquals(TASKS / 2, taskRepository.count());
+        assertEquals("Renamed task 0", taskRepository.findById(saved.get(0).getId()).orElseThrow().getTitle());
+    }
+
+    // ✅ DELETE /api/tasks/{id} is one statement: no read before it, no lock
+    @Test
+    void testDeleteTask_shouldRunOneStatement() throws Exception {
+        mockMvc.perform(delete("/api/tasks/" + saved.get(0).getId()))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(TASKS - 1, taskRepository.count());
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Written by one batch");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        return task;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanagerment.overdue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DueDateWheelTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private final DueDateWheel wheel = new DueDateWheel(TODAY);
+
+    // ✅ A task fires on the first tick after its due day has ended, not before
+    @Test
+    void testAdvance_shouldFireDayAfterDueDate() {
+        wheel.schedule(1L, TODAY);
+        wheel.schedule(2L, TODAY.plusDays(2));
+
+        assertTrue(advance(TODAY).isEmpty());
+        assertEquals(Map.of(TODAY, List.of(1L)), advance(TODAY.plusDays(1)));
+        assertEquals(Map.of(TODAY.plusDays(2), List.of(2L)), advance(TODAY.plusDays(5)));
+        assertEquals(0, wheel.size());
+    }
+
+    // ✅ Due dates beyond the wheel horizon wait in overflow and still fire on time
+    @Test
+    void testAdvance_shouldFireDatesBeyondHorizon() {
+        LocalDate farAway = TODAY.plusDays(DueDateWheel.SLOTS + 300);
+        wheel.schedule(7L, farAway);
+
+        assertTrue(advance(farAway).isEmpty());
+        assertEquals(Map.of(farAway, List.of(7L)), advance(farAway.plusDays(1)));
+    }
+
+    // ✅ Ids saved with a due date already in the past fire on the next advance, even on the same day
+    @Test
+    void testSchedule_withPastDueDate_shouldFireOnNextAdvance() {
+        wheel.schedule(3L, TODAY.minusDays(4));
+        wheel.schedule(4L, TODAY.minusDays(1));
+
+        assertEquals(Map.of(TODAY.minusDays(4), List.of(3L), TODAY.minusDays(1), List.of(4L)), advance(TODAY));
+        assertTrue(advance(TODAY).isEmpty());
+    }
+
+    private Map<LocalDate, List<Long>> advance(LocalDate today) {
+        Map<LocalDate, List<Long>> fired = new LinkedHashMap<>();
+        wheel.advanceTo(today, (day, ids) -> {
+            List<Long> list = fired.computeIfAbsent(day, key -> new ArrayList<>());
+            for (long id : ids) {
+                list.add(id);
+            }
+        });
+        return fired;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.taskmanagerment.overdue;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.store.TaskStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OverdueTaskSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private final TaskStore taskStore = mock(TaskStore.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final MovableClock clock = new MovableClock(TODAY);
+    private final OverdueTaskScheduler scheduler = newScheduler();
+
+    // ✅ Events and ticks are not held up by the rebuild scan, and events seen during it survive the swap
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuild_eventDuringScan_shouldNotBlockAndShouldBeKept() {
+        when(taskStore.streamOpenDueFrom(TODAY, TaskStatus.COMPLETED)).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                scheduler.onTaskChanged(TaskChangedEvent.created(snapshot(2L, TODAY)));
+                scheduler.tick();
+            }).get(5, TimeUnit.SECONDS);
+            return Stream.<Object[]>of(new Object[]{1L, TODAY});
+        });
+        when(taskStore.findIdsOpenAndDueOn(anyCollection(), eq(TODAY), eq(TaskStatus.COMPLETED)))
+                .thenAnswer(invocation -> List.copyOf((Collection<Long>) invocation.getArgument(0)));
+
+        scheduler.rebuild();
+        clock.setDate(TODAY.plusDays(1));
+
+        assertEquals(2, scheduler.tick());
+        assertEquals(0, scheduler.pending());
+    }
+
+    @SuppressWarnings("unchecked")
+    private OverdueTaskScheduler newScheduler() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        when(meterRegistry.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        return new OverdueTaskScheduler(taskStore, mock(ApplicationEventPublisher.class), transactionManager,
+                meterRegistry, clock);
+    }
+
+    private static TaskSnapshot snapshot(long id, LocalDate dueDate) {
+        return new TaskSnapshot(id, "Task " + id, "Watched", TaskStatus.PENDING, Priority.MEDIUM, dueDate, 0L);
+    }
+
+    private static class MovableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MovableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
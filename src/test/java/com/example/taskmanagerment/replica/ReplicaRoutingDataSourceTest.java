@@ -0,0 +1,83 @@
+package com.example.taskmanagerment.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong lag = new AtomicLong();
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class),
+            mock(DataSource.class), lag::get, Duration.ofMillis(500), registry);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    // ✅ Reads go to the replica while it is within max-lag, inside a GET or outside any request
+    @Test
+    void testRoute_shouldUseReplicaWhenCaughtUp() {
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routing.determineCurrentLookupKey());
+        lag.set(Duration.ofMillis(500).toNanos());
+        inRequest("GET");
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routing.determineCurrentLookupKey());
+        assertEquals(2, reads("replica", "caught_up"));
+    }
+
+    // ❌ A replica further behind than max-lag is skipped
+    @Test
+    void testRoute_shouldFallBackToPrimaryWhenLagging() {
+        lag.set(Duration.ofSeconds(1).toNanos());
+        inRequest("GET");
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(1, reads("primary", "lag"));
+        assertEquals(0, reads("replica", "caught_up"));
+    }
+
+    // ❌ Reads made while handling a write request stay on the primary, however fresh the replica is
+    @Test
+    void testRoute_shouldKeepWriteRequestsOnPrimary() {
+        for (String method : new String[]{"POST", "PUT", "PATCH", "DELETE"}) {
+            inRequest(method);
+            assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        }
+        assertEquals(4, reads("primary", "write_request"));
+    }
+
+    // ❌ Read-write transactions (and work outside a transaction) always use the primary
+    @Test
+    void testRoute_shouldKeepReadWriteTransactionsOnPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        inRequest("GET");
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(0, reads("replica", "caught_up"));
+    }
+
+    private void inRequest(String method) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(method, "/api/tasks")));
+    }
+
+    private double reads(String route, String reason) {
+        return registry.get("tasks.replica.reads").tag("route", route).tag("reason", reason).counter().count();
+    }
+}
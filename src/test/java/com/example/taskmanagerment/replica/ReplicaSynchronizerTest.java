@@ -0,0 +1,139 @@
+package com.example.taskmanagerment.replica;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaSynchronizerTest {
+
+    private static final LocalDate DUE = LocalDate.of(2026, 3, 10);
+
+    private final DataSource primaryDataSource = database("primary");
+    private final DataSource replicaDataSource = database("replica");
+    private final JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+    private final JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+    private final ReplicaSynchronizer synchronizer = new ReplicaSynchronizer(primaryDataSource, replicaDataSource,
+            Duration.ZERO, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(primaryDataSource).locations("classpath:db/migration").load().migrate();
+        synchronizer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        synchronizer.stop();
+        primary.execute("shutdown");
+        replica.execute("shutdown");
+    }
+
+    // ✅ Two updates of one task whose listeners ran in reverse order leave the replica on the newer version
+    @Test
+    void testReversedUpdates_shouldKeepNewestVersion() throws InterruptedException {
+        TaskSnapshot v0 = snapshot("First", 0);
+        TaskSnapshot v1 = snapshot("Second", 1);
+        TaskSnapshot v2 = snapshot("Third", 2);
+        insert(v0);
+        synchronizer.onTaskChanged(TaskChangedEvent.created(v0));
+        awaitReplica();
+        primary.update("update task set title = ?, version = ? where id = ?", v2.title(), v2.version(), v2.id());
+
+        synchronizer.onTaskChanged(TaskChangedEvent.updated(v1, v2));
+        synchronizer.onTaskChanged(TaskChangedEvent.updated(v0, v1));
+        awaitReplica();
+
+        assertEquals(List.of("Third"), replica.queryForList("select title from task where id = 1", String.class));
+        assertEquals(2L, replica.queryForObject("select version from task where id = 1", Long.class));
+    }
+
+    // ❌ A replica row never moves back to an older version
+    @Test
+    void testOlderVersion_shouldNotOverwriteReplica() throws InterruptedException {
+        TaskSnapshot v1 = snapshot("Primary", 1);
+        insert(v1);
+        replica.update("insert into task (id, title, description, status, priority, due_date, version) "
+                + "values (1, 'Newer', 'd', 'PENDING', 'LOW', ?, 5)", DUE);
+
+        synchronizer.onTaskChanged(TaskChangedEvent.created(v1));
+        awaitReplica();
+
+        assertEquals("Newer", replica.queryForObject("select title from task where id = 1", String.class));
+    }
+
+    // ❌ An update whose listener runs after the task's delete does not bring the task back
+    @Test
+    void testUpdateAfterDelete_shouldNotResurrectTask() throws InterruptedException {
+        TaskSnapshot v0 = snapshot("Doomed", 0);
+        TaskSnapshot v1 = snapshot("Renamed", 1);
+        insert(v0);
+        synchronizer.onTaskChanged(TaskChangedEvent.created(v0));
+        awaitReplica();
+        primary.update("delete from task where id = 1");
+
+        synchronizer.onTaskChanged(TaskChangedEvent.deleted(v1));
+        synchronizer.onTaskChanged(TaskChangedEvent.updated(v0, v1));
+        awaitReplica();
+
+        assertEquals(0, replica.queryForObject("select count(*) from task", Integer.class));
+    }
+
+    // ❌ A change the replica rejects marks it out of sync until a full copy succeeds
+    @Test
+    void testFailedApply_shouldMarkReplicaUnsyncedUntilRecopied() throws InterruptedException {
+        replica.execute("alter table task add constraint no_rejected check (title <> 'Rejected')");
+        TaskSnapshot task = snapshot("Rejected", 0);
+        insert(task);
+
+        synchronizer.onTaskChanged(TaskChangedEvent.created(task));
+        for (int i = 0; i < 100 && synchronizer.lagNanos() != Long.MAX_VALUE; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(Long.MAX_VALUE, synchronizer.lagNanos());
+
+        replica.execute("alter table task drop constraint no_rejected");
+        for (int i = 0; i < 300 && synchronizer.lagNanos() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, synchronizer.lagNanos());
+        assertEquals("Rejected", replica.queryForObject("select title from task where id = 1", String.class));
+    }
+
+    private void awaitReplica() throws InterruptedException {
+        for (int i = 0; i < 100 && synchronizer.lagNanos() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, synchronizer.lagNanos());
+    }
+
+    private void insert(TaskSnapshot task) {
+        primary.update("insert into task (id, title, description, status, priority, due_date, version) "
+                        + "values (?, ?, ?, ?, ?, ?, ?)", task.id(), task.title(), task.description(),
+                task.status().name(), task.priority().name(), task.dueDate(), task.version());
+    }
+
+    private static TaskSnapshot snapshot(String title, long version) {
+        return new TaskSnapshot(1L, title, "Replica test", TaskStatus.PENDING, Priority.LOW, DUE, version);
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+}
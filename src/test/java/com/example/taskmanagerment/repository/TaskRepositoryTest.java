@@ -1,16 +1,23 @@
 package com.example.taskmanagerment.repository;
 
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSummary;
 import com.example.taskmanagerment.entity.Task;
 import com.example.taskmanagerment.enums.Priority;
 import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +27,9 @@ class TaskRepositoryTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Task task;
 
     @BeforeEach
@@ -93,4 +103,196 @@ class TaskRepositoryTest {
 
         assertEquals("Updated description - Verified repository update", updatedTask.getDescription());
     }
+
+    // ✅ Test keyset page with filters
+    @Test
+    void testFindPageAfter_shouldPageByIdAndApplyFilters() {
+        Task first = taskRepository.save(task);
+
+        Task completed = new Task();
+        completed.setTitle("Already done");
+        completed.setDescription("Should be filtered out");
+        completed.setStatus(TaskStatus.COMPLETED);
+        completed.setPriority(Priority.HIGH);
+        taskRepository.save(completed);
+
+        Task second = new Task();
+        second.setTitle("Second pending");
+        second.setDescription("Due later");
+        second.setStatus(TaskStatus.PENDING);
+        second.setPriority(Priority.LOW);
+        second.setDueDate(LocalDate.now().plusDays(30));
+        second = taskRepository.save(second);
+
+        List<Task> pending = taskRepository.findPageAfter(0L, TaskStatus.PENDING, null, null, null, Limit.of(10));
+        assertEquals(List.of(first.getId(), second.getId()), pending.stream().map(Task::getId).toList());
+
+        List<Task> afterFirst = taskRepository.findPageAfter(first.getId(), TaskStatus.PENDING, null, null, null, Limit.of(10));
+        assertEquals(List.of(second.getId()), afterFirst.stream().map(Task::getId).toList());
+
+        List<Task> dueSoon = taskRepository.findPageAfter(0L, null, null, null, LocalDate.now().plusDays(10), Limit.of(10));
+        assertEquals(List.of(first.getId()), dueSoon.stream().map(Task::getId).toList());
+    }
+
+    // ✅ Test single-statement patch touches only the given fields and bumps the version
+    @Test
+    void testPatch_shouldUpdateOnlyGivenFieldsAndBumpVersion() {
+        Task saved = taskRepository.saveAndFlush(task);
+        long version = saved.getVersion();
+        entityManager.clear();
+
+        Optional<TaskSnapshot> before = taskRepository.patch(saved.getId(), new TaskPatch(null, null, TaskStatus.COMPLETED, null, null), List.of(version));
+        entityManager.clear();
+
+        Task patched = taskRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(Optional.of(TaskSnapshot.of(saved)), before);
+        assertEquals(TaskStatus.COMPLETED, patched.getStatus());
+        assertEquals("Write Repository Tests", patched.getTitle());
+        assertEquals(version + 1, patched.getVersion());
+    }
+
+    // ✅ Test patch affects no rows for a stale version or a missing id
+    @Test
+    void testPatch_withStaleVersionOrMissingId_shouldAffectNoRows() {
+        Task saved = taskRepository.saveAndFlush(task);
+        TaskPatch patch = new TaskPatch("Renamed task", null, null, null, null);
+
+        assertTrue(taskRepository.patch(saved.getId(), patch, List.of(saved.getVersion() + 5)).isEmpty());
+        assertTrue(taskRepository.patch(saved.getId() + 1000, patch, null).isEmpty());
+    }
+
+    // ✅ Test single-statement delete returns the deleted row
+    @Test
+    void testDeleteTaskById_shouldReturnDeletedRow() {
+        Task saved = taskRepository.saveAndFlush(task);
+
+        assertEquals(Optional.of(TaskSnapshot.of(saved)), taskRepository.deleteTaskById(saved.getId()));
+        assertTrue(taskRepository.deleteTaskById(saved.getId()).isEmpty());
+    }
+
+    // ✅ Test chunked criteria delete only removes matching rows
+    @Test
+    void testFindIdsMatchingAndDelete_shouldOnlyRemoveMatchingRows() {
+        task.setStatus(TaskStatus.COMPLETED);
+        task.setDueDate(LocalDate.now().minusDays(40));
+        Task oldCompleted = taskRepository.save(task);
+
+        Task recentCompleted = new Task();
+        recentCompleted.setTitle("Recently completed");
+        recentCompleted.setDescription("Inside the retention window");
+        recentCompleted.setStatus(TaskStatus.COMPLETED);
+        recentCompleted.setPriority(Priority.LOW);
+        recentCompleted.setDueDate(LocalDate.now().minusDays(2));
+        taskRepository.save(recentCompleted);
+
+        LocalDate cutoff = LocalDate.now().minusDays(30);
+        List<Long> ids = taskRepository.findIdsMatching(TaskStatus.COMPLETED, cutoff, Limit.of(10));
+        assertEquals(List.of(oldCompleted.getId()), ids);
+
+        List<TaskSnapshot> deleted = taskRepository.deleteMatchingByIdIn(ids, TaskStatus.COMPLETED, cutoff);
+        assertEquals(List.of(oldCompleted.getId()), deleted.stream().map(TaskSnapshot::id).toList());
+        assertEquals(1, taskRepository.count());
+    }
+
+    // ✅ Test streaming cursor returns rows in id order
+    @Test
+    void testStreamAllByOrderById_shouldStreamInIdOrder() {
+        Task first = taskRepository.save(task);
+
+        Task second = new Task();
+        second.setTitle("Streamed second");
+        second.setDescription("Comes after the first row");
+        second.setStatus(TaskStatus.PENDING);
+        second.setPriority(Priority.LOW);
+        second = taskRepository.save(second);
+
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderById()) {
+            assertEquals(List.of(first.getId(), second.getId()), tasks.map(Task::getId).toList());
+        }
+    }
+
+    // ✅ Test composite index query (status + priority + due date range)
+    @Test
+    void testFindByStatusPriorityAndDueDate_shouldReturnOnlyMatchingTasksInDueOrder() {
+        Task later = new Task();
+        later.setTitle("Later high pending");
+        later.setDescription("Due after the first one");
+        later.setStatus(TaskStatus.PENDING);
+        later.setPriority(Priority.HIGH);
+        later.setDueDate(LocalDate.now().plusDays(6));
+
+        Task lowPriority = new Task();
+        lowPriority.setTitle("Low pending");
+        lowPriority.setDescription("Wrong priority");
+        lowPriority.setStatus(TaskStatus.PENDING);
+        lowPriority.setPriority(Priority.LOW);
+        lowPriority.setDueDate(LocalDate.now().plusDays(5));
+
+        taskRepository.save(later);
+        taskRepository.save(task);
+        taskRepository.save(lowPriority);
+
+        List<Task> tasks = taskRepository.findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(
+                TaskStatus.PENDING, Priority.HIGH, LocalDate.now(), LocalDate.now().plusDays(7));
+
+        assertEquals(List.of("Write Repository Tests", "Later high pending"), tasks.stream().map(Task::getTitle).toList());
+    }
+
+    // ✅ Test overdue query
+    @Test
+    void testFindOverdue_shouldSkipCompletedAndFutureTasks() {
+        task.setDueDate(LocalDate.now().minusDays(1));
+        taskRepository.save(task);
+
+        Task completed = new Task();
+        completed.setTitle("Done late");
+        completed.setDescription("Completed after its due date");
+        completed.setStatus(TaskStatus.COMPLETED);
+        completed.setPriority(Priority.LOW);
+        completed.setDueDate(LocalDate.now().minusDays(2));
+        taskRepository.save(completed);
+
+        List<Task> overdue = taskRepository.findByDueDateBeforeAndStatusNotOrderByDueDate(LocalDate.now(), TaskStatus.COMPLETED);
+
+        assertEquals(List.of("Write Repository Tests"), overdue.stream().map(Task::getTitle).toList());
+    }
+
+    // ✅ Test summary projections select columns without loading entities
+    @Test
+    void testSummaryQueries_shouldNotLoadEntities() {
+        Task saved = taskRepository.save(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskSummary> page = taskRepository.findSummaryPageAfter(0L, TaskStatus.PENDING, null, null, null, Limit.of(10));
+        List<TaskSummary> due = taskRepository.findSummaryByDueDateBetweenOrderByDueDate(LocalDate.now(), LocalDate.now().plusDays(7));
+        List<TaskSummary> byId = taskRepository.findSummaryByIdIn(List.of(saved.getId()));
+
+        TaskSummary expected = new TaskSummary(saved.getId(), "Write Repository Tests", TaskStatus.PENDING,
+                Priority.HIGH, LocalDate.now().plusDays(5));
+        assertEquals(List.of(expected), page);
+        assertEquals(List.of(expected), due);
+        assertEquals(List.of(expected), byId);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    // ✅ Test H2 plans use the declared indexes
+    @Test
+    void testExplain_shouldUseStatusPriorityDueIndex() {
+        String plan = explain("SELECT * FROM task WHERE status = 'PENDING' AND priority = 'HIGH' "
+                + "AND due_date BETWEEN DATE '2024-01-01' AND DATE '2024-01-07' ORDER BY due_date");
+
+        assertTrue(plan.contains("IDX_TASK_STATUS_PRIORITY_DUE"), plan);
+    }
+
+    @Test
+    void testExplain_shouldUseDueDateIndex() {
+        String plan = explain("SELECT * FROM task WHERE due_date BETWEEN DATE '2024-01-01' AND DATE '2024-01-07'");
+
+        assertTrue(plan.contains("IDX_TASK_DUE_STATUS"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult()).toUpperCase();
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.taskmanagerment.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1L, "Fix login bug", "Users cannot log in after the password reset");
+        index.add(2L, "Write release notes", "Mention the login fix and the new report");
+        index.add(3L, "Quarterly report", "Collect numbers for the report, then review the report");
+    }
+
+    // ✅ Tokenizer lower-cases and splits on anything that is not a letter or digit
+    @Test
+    void testTokenize_shouldLowerCaseAndSplit() {
+        assertEquals(List.of("fix", "v2", "login", "bug"), InvertedIndex.tokenize("Fix v2-login: BUG!"));
+        assertEquals(List.of(), InvertedIndex.tokenize("  -- "));
+    }
+
+    // ✅ Every query term must match; title hits rank above description hits
+    @Test
+    void testSearch_shouldIntersectTermsAndRankTitleFirst() {
+        assertEquals(List.of(1L, 2L), index.search(List.of("login"), 0, 10).ids());
+        assertEquals(List.of(2L), index.search(List.of("login", "report"), 0, 10).ids());
+        assertEquals(List.of(3L, 2L), index.search(List.of("report"), 0, 10).ids());
+        assertEquals(0, index.search(List.of("login", "missing"), 0, 10).total());
+    }
+
+    // ✅ Pages are cut from the ranked list while the total counts every match
+    @Test
+    void testSearch_shouldPage() {
+        for (long id = 10; id < 35; id++) {
+            index.add(id, "Task " + id, "Shared words");
+        }
+
+        InvertedIndex.SearchHits first = index.search(List.of("shared"), 0, 10);
+        InvertedIndex.SearchHits third = index.search(List.of("shared"), 20, 10);
+
+        assertEquals(25, first.total());
+        assertEquals(10L, first.ids().get(0));
+        assertEquals(List.of(30L, 31L, 32L, 33L, 34L), third.ids());
+    }
+
+    // ✅ Re-indexing replaces the old terms, and removing needs only the id
+    @Test
+    void testAddAndRemove_shouldReplaceTerms() {
+        index.add(1L, "Fix signup bug", "Users cannot register");
+
+        assertEquals(List.of(2L), index.search(List.of("login"), 0, 10).ids());
+        assertEquals(List.of(1L), index.search(List.of("signup"), 0, 10).ids());
+        assertEquals(3, index.documentCount());
+
+        index.remove(1L);
+        assertEquals(0, index.search(List.of("signup"), 0, 10).total());
+        assertEquals(2, index.documentCount());
+        assertEquals(0, index.search(List.of("bug"), 0, 10).total());
+    }
+}
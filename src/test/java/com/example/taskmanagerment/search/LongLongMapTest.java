@@ -0,0 +1,63 @@
+package com.example.taskmanagerment.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongMapTest {
+
+    private static final long MISSING = -1;
+
+    // ✅ Random puts, overwrites and removes agree with a HashMap through several resizes
+    @Test
+    void testRandomOperations_shouldMatchHashMap() {
+        LongLongMap map = new LongLongMap(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long value = random.nextLong();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, MISSING), map.get(key, MISSING));
+        }
+    }
+
+    // ✅ Removing from the middle of a probe run keeps the entries after it reachable
+    @Test
+    void testRemove_shouldKeepProbeRunsIntact() {
+        LongLongMap map = new LongLongMap(1_000);
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key * 10);
+        }
+        for (long key = 1; key <= 1_000; key += 2) {
+            map.remove(key);
+        }
+
+        for (long key = 1; key <= 1_000; key++) {
+            assertEquals(key % 2 == 0 ? key * 10 : MISSING, map.get(key, MISSING));
+        }
+        assertEquals(500, map.size());
+    }
+
+    // ❌ Key 0 marks a free slot and cannot be stored
+    @Test
+    void testPut_withZeroKey_shouldThrow() {
+        LongLongMap map = new LongLongMap(16);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+        assertEquals(MISSING, map.get(0, MISSING));
+    }
+}
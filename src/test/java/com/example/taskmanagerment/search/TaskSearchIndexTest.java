@@ -0,0 +1,118 @@
+package com.example.taskmanagerment.search;
+
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.store.TaskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TaskSearchIndexTest {
+
+    private final MovableClock clock = new MovableClock();
+    private final TaskSearchIndex searchIndex =
+            new TaskSearchIndex(mock(TaskStore.class), mock(PlatformTransactionManager.class), clock);
+
+    // ✅ Two updates delivered newest first leave the task indexed under the newest text only
+    @Test
+    void testOnTaskChanged_updatesOutOfOrder_shouldKeepNewestText() {
+        TaskSnapshot v0 = snapshot("Draft agenda", 0L);
+        TaskSnapshot v1 = snapshot("Review budget", 1L);
+        TaskSnapshot v2 = snapshot("Publish roadmap", 2L);
+        searchIndex.onTaskChanged(TaskChangedEvent.created(v0));
+
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(v1, v2));
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(v0, v1));
+
+        assertEquals(List.of(7L), hits("roadmap"));
+        assertEquals(List.of(), hits("budget"));
+        assertEquals(List.of(), hits("agenda"));
+    }
+
+    // ✅ An update arriving after the delete does not bring the task back
+    @Test
+    void testOnTaskChanged_updateAfterDelete_shouldStayDeleted() {
+        TaskSnapshot v0 = snapshot("Draft agenda", 0L);
+        TaskSnapshot v1 = snapshot("Review budget", 1L);
+        searchIndex.onTaskChanged(TaskChangedEvent.created(v0));
+
+        searchIndex.onTaskChanged(TaskChangedEvent.deleted(v1));
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(v0, v1));
+
+        assertEquals(List.of(), hits("budget"));
+        assertEquals(List.of(), hits("agenda"));
+    }
+
+    // ❌ An event for the version already indexed changes nothing
+    @Test
+    void testOnTaskChanged_sameVersion_shouldBeIgnored() {
+        TaskSnapshot v0 = snapshot("Draft agenda", 0L);
+        TaskSnapshot v1 = snapshot("Review budget", 1L);
+        TaskSnapshot otherV1 = snapshot("Publish roadmap", 1L);
+        searchIndex.onTaskChanged(TaskChangedEvent.created(v0));
+
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(v0, v1));
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(v0, otherV1));
+
+        assertEquals(List.of(7L), hits("budget"));
+        assertEquals(List.of(), hits("roadmap"));
+    }
+
+    // ✅ Tombstones are dropped after the retention window, so deleted tasks do not pile up
+    @Test
+    void testOnTaskChanged_afterRetention_shouldDropTombstones() {
+        for (long id = 1; id <= 100; id++) {
+            TaskSnapshot task = new TaskSnapshot(id, "Churned task", "Created and deleted", null, null, null, 0L);
+            searchIndex.onTaskChanged(TaskChangedEvent.created(task));
+            searchIndex.onTaskChanged(TaskChangedEvent.deleted(task));
+        }
+        assertEquals(100, searchIndex.trackedTasks());
+
+        clock.advance(TaskSearchIndex.TOMBSTONE_RETENTION);
+        searchIndex.onTaskChanged(TaskChangedEvent.created(snapshot("Draft agenda", 0L)));
+
+        assertEquals(1, searchIndex.trackedTasks());
+        assertEquals(List.of(7L), hits("agenda"));
+    }
+
+    private List<Long> hits(String term) {
+        return searchIndex.search(List.of(term), 0, 10).ids();
+    }
+
+    private static TaskSnapshot snapshot(String title, Long version) {
+        return new TaskSnapshot(7L, title, "Weekly planning", null, null, null, version);
+    }
+
+    private static class MovableClock extends Clock {
+
+        private volatile Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
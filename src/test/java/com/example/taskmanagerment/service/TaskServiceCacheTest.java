@@ -0,0 +1,188 @@
+package com.example.taskmanagerment.service;
+
+import com.example.taskmanagerment.config.CacheConfig;
+import com.example.taskmanagerment.dto.BatchOperation;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.BatchOperationType;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest  // Not @Transactional: rows must be committed to be visible to other threads
+class TaskServiceCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cache cache;
+    private Task saved;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        cache.clear();
+
+        Task task = new Task();
+        task.setTitle("Cached task");
+        task.setDescription("Read through the task cache");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        saved = taskService.createTask(task);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        cache.clear();
+    }
+
+    // ✅ Second read is served from the cache (same instance, no reload)
+    @Test
+    void testGetTaskById_shouldServeRepeatedReadsFromCache() {
+        Task first = taskService.getTaskById(saved.getId());
+        Task second = taskService.getTaskById(saved.getId());
+
+        assertSame(first, second);
+        assertNotNull(cache.get(saved.getId()));
+    }
+
+    // ✅ Hit/miss counts are published as cache metrics
+    @Test
+    void testCacheMetrics_shouldCountHitsAndMisses() {
+        taskService.getTaskById(saved.getId());
+        taskService.getTaskById(saved.getId());
+
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", CacheConfig.TASK_CACHE, "result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", CacheConfig.TASK_CACHE, "result", "miss").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tags("cache", CacheConfig.TASK_CACHE).functionCounter());
+    }
+
+    // ✅ Update invalidates the cached entry
+    @Test
+    void testUpdateTask_shouldEvictCachedEntry() {
+        taskService.getTaskById(saved.getId());
+
+        Task change = new Task();
+        change.setTitle("Cached task renamed");
+        change.setDescription("Read through the task cache");
+        change.setStatus(TaskStatus.IN_PROGRESS);
+        change.setPriority(Priority.MEDIUM);
+        taskService.updateTask(saved.getId(), change);
+
+        assertNull(cache.get(saved.getId()));
+        assertEquals("Cached task renamed", taskService.getTaskById(saved.getId()).getTitle());
+    }
+
+    // ✅ A read during an open batch caches the committed row, and the batch's commit evicts it
+    @Test
+    void testBatchUpdate_concurrentReadBeforeCommit_shouldNotKeepOldRowCached() throws Exception {
+        Task change = new Task();
+        change.setTitle("Cached task renamed");
+        change.setDescription("Read through the task cache");
+        change.setStatus(TaskStatus.IN_PROGRESS);
+        change.setPriority(Priority.MEDIUM);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskBatchService.applyBatch(List.of(new BatchOperation(BatchOperationType.UPDATE, saved.getId(), change)));
+                Task read = join(reader.submit(() -> taskService.getTaskById(saved.getId())));
+                assertEquals("Cached task", read.getTitle());
+                assertNotNull(cache.get(saved.getId()));
+            });
+        } finally {
+            reader.shutdownNow();
+        }
+
+        assertNull(cache.get(saved.getId()));
+        assertEquals("Cached task renamed", taskService.getTaskById(saved.getId()).getTitle());
+    }
+
+    // ✅ A rolled-back batch leaves the cached (still current) row in place
+    @Test
+    void testBatchUpdate_rolledBack_shouldKeepCachedEntry() {
+        Task cached = taskService.getTaskById(saved.getId());
+        Task change = new Task();
+        change.setTitle("Never committed");
+        change.setStatus(TaskStatus.IN_PROGRESS);
+        change.setPriority(Priority.MEDIUM);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            taskBatchService.applyBatch(List.of(new BatchOperation(BatchOperationType.UPDATE, saved.getId(), change)));
+            status.setRollbackOnly();
+        });
+
+        assertSame(cached, taskService.getTaskById(saved.getId()));
+        assertEquals("Cached task", taskRepository.findById(saved.getId()).orElseThrow().getTitle());
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ✅ Delete invalidates the cached entry
+    @Test
+    void testDeleteTask_shouldEvictCachedEntry() {
+        taskService.getTaskById(saved.getId());
+
+        taskService.deleteTask(saved.getId());
+
+        assertNull(cache.get(saved.getId()));
+    }
+
+    // ✅ Concurrent misses on one id load it once
+    @Test
+    void testGetTaskById_concurrentMisses_shouldShareOneLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Task>> readers = IntStream.range(0, 16)
+                    .<Callable<Task>>mapToObj(i -> () -> taskService.getTaskById(saved.getId()))
+                    .toList();
+            List<Future<Task>> results = executor.invokeAll(readers);
+
+            Task expected = results.get(0).get();
+            for (Future<Task> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,20 +1,37 @@
 package com.example.taskmanagerment.service;
 
+import com.example.taskmanagerment.dto.TaskFilter;
+import com.example.taskmanagerment.dto.TaskPage;
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.dto.TaskSearchPage;
 import com.example.taskmanagerment.entity.Task;
 import com.example.taskmanagerment.enums.Priority;
 import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.exception.BadRequestException;
 import com.example.taskmanagerment.exception.TaskNotFoundException;
+import com.example.taskmanagerment.ingest.TaskWriteBehind;
+import com.example.taskmanagerment.exception.TaskVersionMismatchException;
 import com.example.taskmanagerment.repository.TaskRepository;
+import com.example.taskmanagerment.search.InvertedIndex;
+import com.example.taskmanagerment.search.TaskSearchIndex;
+import com.example.taskmanagerment.stats.TaskStatistics;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +42,21 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskWriteBehind taskWriteBehind;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -51,6 +83,7 @@ class TaskServiceTest {
         assertNotNull(savedTask);
         assertEquals("Learn Mockito", savedTask.getTitle());
         verify(taskRepository, times(1)).save(task);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task)));
     }
 
     // ✅ Test getTaskById (found)
@@ -64,6 +97,17 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(1L);
     }
 
+    // ✅ Test getTaskById (still in the write-behind queue)
+    @Test
+    void testGetTaskById_shouldReturnQueuedTaskWithoutQuery() {
+        when(taskWriteBehind.findPending(1L)).thenReturn(Optional.of(task));
+
+        Task found = taskService.getTaskById(1L);
+
+        assertEquals("Learn Mockito", found.getTitle());
+        verify(taskRepository, never()).findById(1L);
+    }
+
     // ❌ Test getTaskById (not found)
     @Test
     void testGetTaskById_shouldThrowWhenNotFound() {
@@ -96,6 +140,64 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findAll();
     }
 
+    // ✅ Test getTasksPage (more rows than the limit -> next cursor)
+    @Test
+    void testGetTasksPage_shouldTrimExtraRowAndReturnCursor() {
+        Task task2 = new Task();
+        task2.setId(2L);
+
+        when(taskRepository.findPageAfter(0L, null, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(task, task2));
+
+        TaskPage<Task> page = taskService.getTasksPage(null, 1, TaskFilter.none());
+
+        assertEquals(1, page.items().size());
+        assertEquals(1L, page.nextCursor());
+    }
+
+    // ✅ Test getTasksPage (last page -> no cursor)
+    @Test
+    void testGetTasksPage_shouldReturnNullCursorOnLastPage() {
+        when(taskRepository.findPageAfter(1L, TaskStatus.PENDING, null, null, null, Limit.of(11)))
+                .thenReturn(List.of(task));
+
+        TaskPage<Task> page = taskService.getTasksPage(1L, 10, new TaskFilter(TaskStatus.PENDING, null, null, null));
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    // ✅ Test getTasksDueBetween (status only -> due-date index query filtered in memory)
+    @Test
+    void testGetTasksDueBetween_withOnlyStatus_shouldFilterDueDateRange() {
+        Task inProgress = new Task();
+        inProgress.setId(2L);
+        inProgress.setStatus(TaskStatus.IN_PROGRESS);
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(7);
+        when(taskRepository.findByDueDateBetweenOrderByDueDate(from, to)).thenReturn(List.of(task, inProgress));
+
+        List<Task> tasks = taskService.getTasksDueBetween(from, to, TaskStatus.PENDING, null);
+
+        assertEquals(List.of(task), tasks);
+        verify(taskRepository, never()).findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(any(), any(), any(), any());
+    }
+
+    // ✅ Test exportTasks (rows handed to the sink, then detached)
+    @Test
+    void testExportTasks_shouldStreamAndDetachEachTask() {
+        Task task2 = new Task();
+        task2.setId(2L);
+        when(taskRepository.streamAllByOrderById()).thenReturn(Stream.of(task, task2));
+
+        List<Task> exported = new ArrayList<>();
+        taskService.exportTasks(exported::add);
+
+        assertEquals(List.of(task, task2), exported);
+        verify(entityManager, times(1)).detach(task);
+        verify(entityManager, times(1)).detach(task2);
+    }
+
     // ✅ Test updateTask
     @Test
     void testUpdateTask_shouldUpdateDescription() {
@@ -114,24 +216,137 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    // ❌ Test updateTask with a stale expected version
+    @Test
+    void testUpdateTask_withStaleVersion_shouldThrowAndNotSave() {
+        task.setVersion(3L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.updateTask(1L, new Task(), List.of(2L)));
+
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    // ✅ Test searchTasks keeps the index ranking when loading the page
+    @Test
+    void testSearchTasks_shouldReturnTasksInRankOrder() {
+        Task second = new Task();
+        second.setId(2L);
+        when(taskSearchIndex.search(List.of("learn", "mockito"), 0, 1))
+                .thenReturn(new InvertedIndex.SearchHits(List.of(2L), 2));
+        when(taskRepository.findAllById(List.of(2L))).thenReturn(List.of(second));
+
+        TaskSearchPage<Task> page = taskService.searchTasks("Learn  Mockito", null, 1);
+
+        assertEquals(List.of(second), page.items());
+        assertEquals(2, page.total());
+        assertEquals(1, page.nextOffset());
+    }
+
+    // ❌ Test searchTasks with a query that has no words
+    @Test
+    void testSearchTasks_withoutWords_shouldThrow() {
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks(" - ", null, null));
+
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    // ❌ Test searchTasks with a negative offset or one so large that offset + limit overflows
+    @Test
+    void testSearchTasks_withOutOfRangeOffset_shouldThrow() {
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks("mockito", -1, null));
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks("mockito", Integer.MAX_VALUE, 20));
+        assertThrows(BadRequestException.class, () -> taskService.searchTaskSummaries("mockito", Integer.MAX_VALUE, 20));
+
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    // ✅ Test patchTask (one UPDATE, no read)
+    @Test
+    void testPatchTask_shouldIssueSingleUpdate() {
+        TaskPatch patch = new TaskPatch(null, null, TaskStatus.COMPLETED, null, null);
+        TaskSnapshot before = TaskSnapshot.of(task);
+        when(taskRepository.patch(1L, patch, null)).thenReturn(Optional.of(before));
+
+        taskService.patchTask(1L, patch, null);
+
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(before, before.apply(patch)));
+    }
+
+    // ❌ Test patchTask (no row affected)
+    @Test
+    void testPatchTask_shouldThrowWhenNoRowAffected() {
+        TaskPatch patch = new TaskPatch(null, null, TaskStatus.COMPLETED, null, null);
+        when(taskRepository.patch(99L, patch, null)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(99L, patch, null));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // ❌ Test patchTask (empty patch changes nothing and publishes nothing)
+    @Test
+    void testPatchTask_shouldRejectEmptyPatch() {
+        TaskPatch patch = new TaskPatch(null, null, null, null, null);
+
+        assertThrows(BadRequestException.class, () -> taskService.patchTask(1L, patch, null));
+        verify(taskRepository, never()).patch(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
     // ✅ Test deleteTask
     @Test
     void testDeleteTask_shouldDeleteWhenExists() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        doNothing().when(taskRepository).delete(task);
+        TaskSnapshot deleted = TaskSnapshot.of(task);
+        when(taskRepository.deleteTaskById(1L)).thenReturn(Optional.of(deleted));
 
         taskService.deleteTask(1L);
 
-        verify(taskRepository, times(1)).delete(task);
+        verify(taskRepository, times(1)).deleteTaskById(1L);
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(deleted));
     }
 
     // ❌ Test deleteTask (not found)
     @Test
     void testDeleteTask_shouldThrowWhenNotFound() {
-        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
+        when(taskRepository.deleteTaskById(99L)).thenReturn(Optional.empty());
 
         assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(99L));
 
-        verify(taskRepository, times(1)).findById(99L);
+        verify(taskRepository, times(1)).deleteTaskById(99L);
+    }
+
+    // ✅ Test deleteTasks (keeps deleting full chunks until a short one)
+    @Test
+    void testDeleteTasks_shouldDeleteInChunks() {
+        List<Long> fullChunk = java.util.stream.LongStream.rangeClosed(1, TaskService.BULK_DELETE_CHUNK_SIZE).boxed().toList();
+        List<Long> lastChunk = List.of(5000L, 5001L);
+        LocalDate cutoff = LocalDate.now().minusDays(30);
+        when(taskRepository.findIdsMatching(TaskStatus.COMPLETED, cutoff, Limit.of(TaskService.BULK_DELETE_CHUNK_SIZE)))
+                .thenReturn(fullChunk, lastChunk);
+        when(taskRepository.deleteMatchingByIdIn(fullChunk, TaskStatus.COMPLETED, cutoff)).thenReturn(snapshotsOf(fullChunk));
+        when(taskRepository.deleteMatchingByIdIn(lastChunk, TaskStatus.COMPLETED, cutoff)).thenReturn(snapshotsOf(lastChunk));
+
+        long deleted = taskService.deleteTasks(TaskStatus.COMPLETED, cutoff);
+
+        assertEquals(TaskService.BULK_DELETE_CHUNK_SIZE + 2, deleted);
+        verify(eventPublisher, times(TaskService.BULK_DELETE_CHUNK_SIZE + 2)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    // ❌ Test deleteTasks without criteria
+    @Test
+    void testDeleteTasks_withoutCriteria_shouldThrow() {
+        assertThrows(BadRequestException.class, () -> taskService.deleteTasks(null, null));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static List<TaskSnapshot> snapshotsOf(List<Long> ids) {
+        return ids.stream()
+                .map(id -> new TaskSnapshot(id, "Old task", "Done long ago", TaskStatus.COMPLETED, Priority.LOW,
+                        LocalDate.now().minusDays(60), 0L))
+                .toList();
     }
 }
@@ -0,0 +1,97 @@
+package com.example.taskmanagerment.stats;
+
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskChangedEvent;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import com.example.taskmanagerment.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskStatisticsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final MovableClock clock = new MovableClock(TODAY);
+    private final TaskStatistics statistics = new TaskStatistics(taskRepository, clock);
+
+    // ✅ Rebuild seeds every counter from the aggregate rows
+    @Test
+    void testRebuild_shouldSeedFromAggregateQuery() {
+        when(taskRepository.countByStatusPriorityAndDueDate()).thenReturn(List.of(
+                new Object[]{TaskStatus.PENDING, Priority.HIGH, TODAY.minusDays(1), 3L},
+                new Object[]{TaskStatus.COMPLETED, Priority.HIGH, TODAY.minusDays(1), 2L},
+                new Object[]{null, Priority.LOW, null, 1L}));
+
+        statistics.rebuild();
+
+        assertEquals(6, statistics.snapshot().total());
+        assertEquals(3, statistics.snapshot().byStatus().get(TaskStatus.PENDING));
+        assertEquals(5, statistics.snapshot().byPriority().get(Priority.HIGH));
+        assertEquals(3, statistics.snapshot().overdue());
+    }
+
+    // ✅ Open tasks become overdue once their due date has passed, without any write
+    @Test
+    void testOverdue_shouldRollOverWhenDateChanges() {
+        statistics.onTaskChanged(TaskChangedEvent.created(snapshot(1L, TaskStatus.PENDING, TODAY)));
+        statistics.onTaskChanged(TaskChangedEvent.created(snapshot(2L, TaskStatus.IN_PROGRESS, TODAY.plusDays(2))));
+        statistics.onTaskChanged(TaskChangedEvent.created(snapshot(3L, TaskStatus.COMPLETED, TODAY)));
+        assertEquals(0, statistics.snapshot().overdue());
+
+        clock.setDate(TODAY.plusDays(1));
+        assertEquals(1, statistics.snapshot().overdue());
+
+        // Completing an overdue task takes it out again
+        TaskSnapshot before = snapshot(1L, TaskStatus.PENDING, TODAY);
+        statistics.onTaskChanged(TaskChangedEvent.updated(before, snapshot(1L, TaskStatus.COMPLETED, TODAY)));
+        assertEquals(0, statistics.snapshot().overdue());
+
+        clock.setDate(TODAY.plusDays(5));
+        assertEquals(1, statistics.snapshot().overdue());
+        assertEquals(3, statistics.snapshot().total());
+    }
+
+    private static TaskSnapshot snapshot(long id, TaskStatus status, LocalDate dueDate) {
+        return new TaskSnapshot(id, "Task " + id, "Counted", status, Priority.MEDIUM, dueDate, 0L);
+    }
+
+    private static class MovableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MovableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
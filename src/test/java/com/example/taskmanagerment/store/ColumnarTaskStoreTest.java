@@ -0,0 +1,178 @@
+package com.example.taskmanagerment.store;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import com.example.taskmanagerment.event.TaskSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTaskStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private final ColumnarTaskStore store = new ColumnarTaskStore();
+
+    // ✅ Saved tasks get increasing ids and version 0, and read back field for field
+    @Test
+    void testSaveAndFindById_shouldRoundTrip() {
+        Task saved = store.save(newTask("First", TaskStatus.PENDING, Priority.HIGH, TODAY));
+        Task noDate = store.save(newTask("Second", null, null, null));
+
+        assertEquals(1L, saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals(2L, noDate.getId());
+        Task read = store.findById(1L).orElseThrow();
+        assertEquals("First", read.getTitle());
+        assertEquals(TaskStatus.PENDING, read.getStatus());
+        assertEquals(Priority.HIGH, read.getPriority());
+        assertEquals(TODAY, read.getDueDate());
+        Task readNoDate = store.findById(2L).orElseThrow();
+        assertNull(readNoDate.getStatus());
+        assertNull(readNoDate.getPriority());
+        assertNull(readNoDate.getDueDate());
+        assertTrue(store.findById(3L).isEmpty());
+    }
+
+    // ❌ Saving a stale version fails like a JPA optimistic lock; the current version succeeds
+    @Test
+    void testSave_withStaleVersion_shouldThrow() {
+        Task task = store.save(newTask("Versioned", TaskStatus.PENDING, Priority.LOW, TODAY));
+        Task first = store.findById(task.getId()).orElseThrow();
+        Task second = store.findById(task.getId()).orElseThrow();
+
+        first.setTitle("First writer");
+        assertEquals(1L, store.save(first).getVersion());
+        second.setTitle("Second writer");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> store.save(second));
+        assertEquals("First writer", store.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    // ❌ The task table's NOT NULL and length limits apply here too
+    @Test
+    void testSave_withInvalidColumns_shouldThrow() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store.save(newTask("x".repeat(101), TaskStatus.PENDING, Priority.LOW, TODAY)));
+        Task noDescription = newTask("No description", TaskStatus.PENDING, Priority.LOW, TODAY);
+        noDescription.setDescription(null);
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(noDescription));
+        assertEquals(0, store.count());
+    }
+
+    // ✅ Keyset pages start after the cursor, apply the filters and skip deleted tasks
+    @Test
+    void testFindPageAfter_shouldFilterAndSkipDeleted() {
+        for (int i = 0; i < 10; i++) {
+            store.save(newTask("Task " + i, i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED, Priority.MEDIUM,
+                    TODAY.plusDays(i)));
+        }
+        store.deleteTaskById(3L);
+
+        assertEquals(List.of(4L, 5L, 6L), ids(store.findPageAfter(2, null, null, null, null, Limit.of(3))));
+        assertEquals(List.of(5L, 7L, 9L), ids(store.findPageAfter(3, TaskStatus.PENDING, null, null, null, Limit.of(5))));
+        assertEquals(List.of(5L, 6L), ids(store.findPageAfter(0, null, Priority.MEDIUM, TODAY.plusDays(3),
+                TODAY.plusDays(6), Limit.unlimited())));
+        assertEquals(List.of(2L), store.findSummaryPageAfter(1, null, null, null, null, Limit.of(1))
+                .stream().map(summary -> summary.id()).toList());
+    }
+
+    // ✅ Due-date queries follow SQL: inclusive BETWEEN, ordered by date then id, null dates and statuses excluded
+    @Test
+    void testDueDateQueries_shouldFollowSqlSemantics() {
+        store.save(newTask("Late", TaskStatus.PENDING, Priority.LOW, TODAY.plusDays(2)));
+        store.save(newTask("Early", TaskStatus.PENDING, Priority.LOW, TODAY));
+        store.save(newTask("Same day", TaskStatus.IN_PROGRESS, Priority.HIGH, TODAY));
+        store.save(newTask("No date", TaskStatus.PENDING, Priority.LOW, null));
+        store.save(newTask("Done", TaskStatus.COMPLETED, Priority.LOW, TODAY.minusDays(1)));
+        store.save(newTask("No status", null, Priority.LOW, TODAY.minusDays(1)));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(store.findByDueDateBetweenOrderByDueDate(TODAY, TODAY.plusDays(2))));
+        assertEquals(List.of(2L), ids(store.findByStatusAndPriorityAndDueDateBetweenOrderByDueDate(
+                TaskStatus.PENDING, Priority.LOW, TODAY, TODAY.plusDays(1))));
+        assertEquals(List.of(2L, 3L), ids(store.findByDueDateBeforeAndStatusNotOrderByDueDate(
+                TODAY.plusDays(1), TaskStatus.COMPLETED)));
+        assertEquals(List.of(2L, 3L), store.findIdsOpenAndDueOn(List.of(2L, 3L, 4L, 5L), TODAY, TaskStatus.COMPLETED));
+    }
+
+    // ✅ A patch writes only the given fields, bumps the version and returns the row as it was
+    @Test
+    void testPatch_shouldReturnPreviousRow() {
+        Task task = store.save(newTask("Original", TaskStatus.PENDING, Priority.LOW, TODAY));
+
+        TaskSnapshot before = store.patch(task.getId(), new TaskPatch(null, null, TaskStatus.COMPLETED, null, null), List.of(0L))
+                .orElseThrow();
+
+        assertEquals(TaskStatus.PENDING, before.status());
+        Task patched = store.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.COMPLETED, patched.getStatus());
+        assertEquals("Original", patched.getTitle());
+        assertEquals(1L, patched.getVersion());
+        assertTrue(store.patch(task.getId(), new TaskPatch("Stale", null, null, null, null), List.of(0L)).isEmpty());
+    }
+
+    // ✅ Deleting most tasks compacts the columns; lookups, pages and new ids still line up afterwards
+    @Test
+    void testDeleteMatching_shouldCompactAndKeepLookups() {
+        for (int i = 0; i < 1_000; i++) {
+            store.save(newTask("Task " + i, i % 10 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.COMPLETED,
+                    Priority.LOW, TODAY));
+        }
+
+        List<TaskSnapshot> removed = store.deleteMatchingByIdIn(LongStream.rangeClosed(1, 1_000).boxed().toList(),
+                TaskStatus.COMPLETED, TODAY.plusDays(1));
+
+        assertEquals(900, removed.size());
+        assertEquals(100, store.count());
+        assertEquals("Task 990", store.findById(991L).orElseThrow().getTitle());
+        assertTrue(store.findById(992L).isEmpty());
+        assertEquals(List.of(11L, 21L), ids(store.findPageAfter(1, null, null, null, null, Limit.of(2))));
+        assertEquals(1_001L, store.save(newTask("After compaction", TaskStatus.PENDING, Priority.LOW, TODAY)).getId());
+        assertEquals(101, store.streamAllByOrderById().count());
+    }
+
+    // ✅ Aggregates group nulls like SQL GROUP BY
+    @Test
+    void testCountByStatusPriorityAndDueDate_shouldGroup() {
+        store.save(newTask("A", TaskStatus.PENDING, Priority.LOW, TODAY));
+        store.save(newTask("B", TaskStatus.PENDING, Priority.LOW, TODAY));
+        store.save(newTask("C", null, null, null));
+
+        List<Object[]> rows = store.countByStatusPriorityAndDueDate();
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().anyMatch(row -> row[0] == TaskStatus.PENDING && row[1] == Priority.LOW
+                && TODAY.equals(row[2]) && Long.valueOf(2).equals(row[3])));
+        assertTrue(rows.stream().anyMatch(row -> row[0] == null && row[1] == null && row[2] == null
+                && Long.valueOf(1).equals(row[3])));
+    }
+
+    // ❌ Write-behind inserts into the database, so it cannot run on top of this store
+    @Test
+    void testConstructor_withWriteBehind_shouldThrow() {
+        assertThrows(IllegalStateException.class, () -> new ColumnarTaskStore(true));
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static Task newTask(String title, TaskStatus status, Priority priority, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Columnar store test");
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
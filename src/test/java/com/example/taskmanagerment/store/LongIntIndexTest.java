@@ -0,0 +1,61 @@
+package com.example.taskmanagerment.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntIndexTest {
+
+    // ✅ Random puts, overwrites and removes agree with a HashMap through several resizes
+    @Test
+    void testRandomOperations_shouldMatchHashMap() {
+        LongIntIndex index = new LongIntIndex(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntIndex.MISSING : removed, index.remove(key));
+            } else {
+                expected.put(key, i);
+                index.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, LongIntIndex.MISSING), index.get(key));
+        }
+    }
+
+    // ✅ Removing from the middle of a probe run keeps the entries after it reachable
+    @Test
+    void testRemove_shouldKeepProbeRunsIntact() {
+        LongIntIndex index = new LongIntIndex(1_000);
+        for (long key = 1; key <= 1_000; key++) {
+            index.put(key, (int) key);
+        }
+        for (long key = 1; key <= 1_000; key += 2) {
+            index.remove(key);
+        }
+
+        for (long key = 1; key <= 1_000; key++) {
+            assertEquals(key % 2 == 0 ? (int) key : LongIntIndex.MISSING, index.get(key));
+        }
+        assertEquals(500, index.size());
+    }
+
+    // ❌ Key 0 marks a free slot and cannot be stored
+    @Test
+    void testPut_withZeroKey_shouldThrow() {
+        LongIntIndex index = new LongIntIndex(16);
+
+        assertThrows(IllegalArgumentException.class, () -> index.put(0, 1));
+        assertEquals(LongIntIndex.MISSING, index.get(0));
+    }
+}
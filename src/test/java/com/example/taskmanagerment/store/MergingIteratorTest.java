@@ -0,0 +1,63 @@
+package com.example.taskmanagerment.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergingIteratorTest {
+
+    // ✅ Sorted sources come out as one sorted sequence, empty sources included
+    @Test
+    void testMerge_shouldInterleaveSortedSources() {
+        List<Iterator<Integer>> sources = List.of(List.of(1, 4, 7).iterator(), List.<Integer>of().iterator(),
+                List.of(2, 3, 9).iterator(), List.of(5).iterator());
+
+        MergingIterator<Integer> merged = new MergingIterator<>(sources, Comparator.naturalOrder());
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 7, 9), drain(merged));
+        assertThrows(NoSuchElementException.class, merged::next);
+    }
+
+    // ✅ Sources are only read as far as the caller consumes
+    @Test
+    void testMerge_shouldReadSourcesLazily() {
+        List<Integer> read = new ArrayList<>();
+        Iterator<Integer> first = counting(List.of(1, 3, 5, 7), read);
+        Iterator<Integer> second = counting(List.of(2, 4, 6, 8), read);
+
+        MergingIterator<Integer> merged = new MergingIterator<>(List.of(first, second), Comparator.naturalOrder());
+        merged.next();
+        merged.next();
+
+        assertEquals(List.of(1, 2, 3, 4), read);
+    }
+
+    private static Iterator<Integer> counting(List<Integer> values, List<Integer> read) {
+        Iterator<Integer> iterator = values.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                Integer value = iterator.next();
+                read.add(value);
+                return value;
+            }
+        };
+    }
+
+    private static <T> List<T> drain(Iterator<T> iterator) {
+        List<T> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+}
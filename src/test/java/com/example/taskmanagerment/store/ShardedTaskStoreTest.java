@@ -0,0 +1,137 @@
+package com.example.taskmanagerment.store;
+
+import com.example.taskmanagerment.dto.TaskPatch;
+import com.example.taskmanagerment.entity.Task;
+import com.example.taskmanagerment.enums.Priority;
+import com.example.taskmanagerment.enums.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTaskStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    // Fresh databases per test: the pools keep in-memory shards alive until destroy()
+    private final ShardedTaskStore store = new ShardedTaskStore(3,
+            "jdbc:h2:mem:sharded-" + UUID.randomUUID() + "-{shard}", 2, false);
+
+    @AfterEach
+    void tearDown() {
+        store.destroy();
+    }
+
+    // ✅ New tasks are spread over every shard with unique ids, and each reads back from its own shard
+    @Test
+    void testSave_shouldSpreadTasksOverShards() {
+        List<Long> ids = Stream.iterate(0, i -> i + 1).limit(9)
+                .map(i -> store.save(newTask("Task " + i, TaskStatus.PENDING, TODAY)).getId())
+                .toList();
+
+        assertEquals(9, ids.stream().distinct().count());
+        assertEquals(3, ids.stream().map(id -> (id - 1) % 3).collect(Collectors.toSet()).size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals("Task " + i, store.findById(ids.get(i)).orElseThrow().getTitle());
+        }
+        assertEquals(9, store.findAll().size());
+    }
+
+    // ✅ Keyset pages and id chunks are merged across shards in id order and cut at the limit
+    @Test
+    void testFindPageAfter_shouldMergeShardsInIdOrder() {
+        for (int i = 0; i < 30; i++) {
+            store.save(newTask("Task " + i, i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED, TODAY.plusDays(i)));
+        }
+        List<Long> allIds = store.findAll().stream().map(Task::getId).toList();
+
+        List<Long> page = store.findPageAfter(allIds.get(4), null, null, null, null, Limit.of(10))
+                .stream().map(Task::getId).toList();
+        List<Long> completed = store.findIdsMatching(TaskStatus.COMPLETED, null, Limit.of(5));
+
+        assertEquals(allIds.subList(5, 15), page);
+        assertEquals(5, completed.size());
+        assertEquals(completed.stream().sorted().toList(), completed);
+        assertTrue(completed.stream().allMatch(id -> store.findById(id).orElseThrow().getStatus() == TaskStatus.COMPLETED));
+    }
+
+    // ✅ Due-date lists are merged by (due date, id); the export stream is merged by id
+    @Test
+    void testOrderedQueries_shouldMergeBySortKey() {
+        for (int i = 0; i < 12; i++) {
+            store.save(newTask("Task " + i, TaskStatus.PENDING, TODAY.plusDays(i % 4)));
+        }
+
+        List<Task> due = store.findByDueDateBetweenOrderByDueDate(TODAY, TODAY.plusDays(2));
+        List<Long> exported;
+        try (Stream<Task> tasks = store.streamAllByOrderById()) {
+            exported = tasks.map(Task::getId).toList();
+        }
+
+        assertEquals(9, due.size());
+        for (int i = 1; i < due.size(); i++) {
+            Task previous = due.get(i - 1);
+            Task current = due.get(i);
+            assertTrue(previous.getDueDate().isBefore(current.getDueDate())
+                    || previous.getDueDate().equals(current.getDueDate()) && previous.getId() < current.getId());
+        }
+        assertEquals(exported.stream().sorted().toList(), exported);
+        assertEquals(12, exported.size());
+    }
+
+    // ✅ Counts from every shard are summed per bucket
+    @Test
+    void testCountByStatusPriorityAndDueDate_shouldSumShards() {
+        for (int i = 0; i < 6; i++) {
+            store.save(newTask("Task " + i, TaskStatus.PENDING, TODAY));
+        }
+
+        List<Object[]> rows = store.countByStatusPriorityAndDueDate();
+
+        assertEquals(1, rows.size());
+        assertArrayEquals(new Object[]{TaskStatus.PENDING, Priority.MEDIUM, TODAY, 6L}, rows.get(0));
+    }
+
+    // ❌ A stale version is rejected; patch and delete report the row as it was
+    @Test
+    void testWrites_shouldCheckVersionsAndReturnPreviousRows() {
+        Task task = store.save(newTask("Original", TaskStatus.PENDING, TODAY));
+        Task stale = store.findById(task.getId()).orElseThrow();
+        task.setTitle("Updated");
+        assertEquals(1L, store.save(task).getVersion());
+
+        stale.setTitle("Stale");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> store.save(stale));
+        assertEquals("Updated", store.patch(task.getId(), new TaskPatch(null, null, TaskStatus.COMPLETED, null, null), List.of(1L))
+                .orElseThrow().title());
+        assertTrue(store.patch(task.getId(), new TaskPatch("Late", null, null, null, null), List.of(1L)).isEmpty());
+        assertEquals(TaskStatus.COMPLETED, store.deleteTaskById(task.getId()).orElseThrow().status());
+        assertFalse(store.existsById(task.getId()));
+    }
+
+    // ❌ The shard schemas are the Flyway-migrated task table, constraints included
+    @Test
+    void testSave_withTooLongTitle_shouldThrow() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store.save(newTask("x".repeat(101), TaskStatus.PENDING, TODAY)));
+    }
+
+    private static Task newTask(String title, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Sharded store test");
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
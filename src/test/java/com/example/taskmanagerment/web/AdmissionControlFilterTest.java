@@ -0,0 +1,111 @@
+package com.example.taskmanagerment.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PoolPressureMonitor poolPressure = mock(PoolPressureMonitor.class);
+
+    // ✅ Full-table lists and exports cost more than keyset pages, which cost more than reads by id
+    @Test
+    void testCost_shouldPriceEndpointsByDatabaseWork() {
+        assertEquals(AdmissionControlFilter.READ_COST, AdmissionControlFilter.cost(request("GET", "/api/tasks/42")));
+        assertEquals(AdmissionControlFilter.READ_COST, AdmissionControlFilter.cost(request("GET", "/api/tasks/stats")));
+        assertEquals(AdmissionControlFilter.LIST_ALL_COST, AdmissionControlFilter.cost(request("GET", "/api/tasks")));
+        MockHttpServletRequest summaries = request("GET", "/api/tasks");
+        summaries.setParameter("view", "summary");
+        assertEquals(AdmissionControlFilter.LIST_ALL_COST, AdmissionControlFilter.cost(summaries));
+        MockHttpServletRequest page = request("GET", "/api/tasks");
+        page.setParameter("limit", "50");
+        assertEquals(AdmissionControlFilter.PAGE_COST, AdmissionControlFilter.cost(page));
+        assertEquals(AdmissionControlFilter.PAGE_COST, AdmissionControlFilter.cost(request("GET", "/api/tasks/search")));
+        assertEquals(AdmissionControlFilter.EXPORT_COST, AdmissionControlFilter.cost(request("GET", "/api/tasks/export")));
+        assertEquals(AdmissionControlFilter.WRITE_COST, AdmissionControlFilter.cost(request("POST", "/api/tasks")));
+        assertEquals(AdmissionControlFilter.WRITE_COST, AdmissionControlFilter.cost(request("DELETE", "/api/tasks/42")));
+        assertEquals(AdmissionControlFilter.BATCH_COST, AdmissionControlFilter.cost(request("POST", "/api/tasks/batch")));
+        assertEquals(AdmissionControlFilter.BATCH_COST, AdmissionControlFilter.cost(request("DELETE", "/api/tasks")));
+    }
+
+    // ❌ A client that spends its bucket on full lists gets 429 with Retry-After; another client is unaffected
+    @Test
+    void testFilter_whenBucketIsEmpty_shouldReturn429() throws Exception {
+        AdmissionControlFilter filter = filter(10, 100);
+
+        assertEquals(200, send(filter, request("GET", "/api/tasks")).getStatus());
+        assertEquals(200, send(filter, request("GET", "/api/tasks")).getStatus());
+        MockHttpServletResponse limited = send(filter, request("GET", "/api/tasks"));
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("5", limited.getHeader("Retry-After"));
+        MockHttpServletRequest other = request("GET", "/api/tasks");
+        other.setRemoteAddr("10.0.0.2");
+        assertEquals(200, send(filter, other).getStatus());
+        assertEquals(1.0, registry.counter("tasks.admission.rejected", "reason", "rate_limit").count());
+    }
+
+    // ❌ With the pool saturated, expensive requests are shed with 503 but reads by id still go through
+    @Test
+    void testFilter_whenPoolIsSaturated_shouldShedAllButCheapReads() throws Exception {
+        when(poolPressure.isSaturated()).thenReturn(true);
+        AdmissionControlFilter filter = filter(1000, 1000);
+
+        MockHttpServletResponse shed = send(filter, request("GET", "/api/tasks"));
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(503, send(filter, request("POST", "/api/tasks")).getStatus());
+        assertEquals(200, send(filter, request("GET", "/api/tasks/42")).getStatus());
+        assertEquals(2.0, registry.counter("tasks.admission.rejected", "reason", "pool_saturated").count());
+    }
+
+    // ✅ A configured client header takes precedence over the remote address
+    @Test
+    void testFilter_withClientHeader_shouldLimitPerHeaderValue() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(1, 100, 100, now::get),
+                poolPressure, "X-Client-Id", registry);
+
+        MockHttpServletRequest first = request("GET", "/api/tasks/export");
+        first.addHeader("X-Client-Id", "tenant-a");
+        assertEquals(200, send(filter, first).getStatus());
+        MockHttpServletRequest second = request("GET", "/api/tasks/export");
+        second.addHeader("X-Client-Id", "tenant-b");
+        assertEquals(200, send(filter, second).getStatus());
+        MockHttpServletRequest again = request("GET", "/api/tasks/1");
+        again.addHeader("X-Client-Id", "tenant-a");
+        assertEquals(429, send(filter, again).getStatus());
+    }
+
+    // ❌ A burst smaller than the dearest request would reject that request forever
+    @Test
+    void testConstructor_withBurstBelowExportCost_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> filter(10, AdmissionControlFilter.EXPORT_COST - 1));
+    }
+
+    private AdmissionControlFilter filter(double rate, int burst) {
+        return new AdmissionControlFilter(new ClientRateLimiter(rate, burst, 100, now::get), poolPressure, "", registry);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagerment.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    // ✅ A fresh client gets its whole burst, then one token per interval
+    @Test
+    void testTryAcquire_shouldAllowBurstThenRefillAtRate() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 5, 100, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client", 1), "request " + i);
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("client", 1));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, limiter.tryAcquire("client", 1));
+        assertTrue(limiter.tryAcquire("client", 1) > 0);
+    }
+
+    // ✅ Expensive requests drain the bucket faster, and a rejected one takes nothing
+    @Test
+    void testTryAcquire_withCost_shouldChargeThatManyTokens() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 10, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("client", 8));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(600), limiter.tryAcquire("client", 8));
+        assertEquals(0, limiter.tryAcquire("client", 2));
+        assertTrue(limiter.tryAcquire("client", 1) > 0);
+    }
+
+    // ✅ One client's flood does not touch another client's bucket
+    @Test
+    void testTryAcquire_shouldKeepClientsApart() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 3, 100, now::get);
+
+        limiter.tryAcquire("noisy", 3);
+        assertTrue(limiter.tryAcquire("noisy", 1) > 0);
+        assertEquals(0, limiter.tryAcquire("quiet", 3));
+    }
+
+    // ✅ Buckets of clients idle for a whole burst window are dropped, and come back full
+    @Test
+    void testIdleClients_shouldBeEvicted() {
+        ClientRateLimiter limiter = new ClientRateLimiter(100, 10, 100, now::get);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("client-" + i, 10);
+        }
+        assertEquals(50, limiter.trackedClients());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(101));
+
+        assertEquals(0, limiter.trackedClients());
+        assertEquals(0, limiter.tryAcquire("client-0", 10));
+    }
+
+    // ✅ Concurrent requests from one client never admit more than the bucket holds
+    @Test
+    void testTryAcquire_concurrently_shouldAdmitExactlyTheBurst() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 1000, 100, now::get);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire("client", 1) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        assertEquals(1000, admitted.get());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanagerment.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolPressureMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", "test").register(registry);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter timeouts = Counter.builder("hikaricp.connections.timeout").tag("pool", "test").register(registry);
+    private final PoolPressureMonitor monitor = new PoolPressureMonitor(registry, Duration.ofMillis(50));
+
+    PoolPressureMonitorTest() {
+        Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).tag("pool", "test").register(registry);
+    }
+
+    // ✅ Only the waits since the previous sample count, so the pool recovers once waits drop
+    @Test
+    void testSample_shouldFollowRecentMeanWait() {
+        record(10, Duration.ofMillis(2));
+        monitor.sample();
+        assertFalse(monitor.isSaturated());
+
+        record(10, Duration.ofMillis(200));
+        monitor.sample();
+        assertTrue(monitor.isSaturated());
+
+        record(100, Duration.ofMillis(1));
+        monitor.sample();
+        assertFalse(monitor.isSaturated());
+    }
+
+    // ✅ Threads stuck waiting with no connection handed out, or a timeout, also mean saturated
+    @Test
+    void testSample_withWaitersButNoAcquires_shouldBeSaturated() {
+        monitor.sample();
+        assertFalse(monitor.isSaturated());
+
+        pending.set(20);
+        monitor.sample();
+        assertTrue(monitor.isSaturated());
+
+        pending.set(0);
+        record(5, Duration.ofMillis(1));
+        timeouts.increment();
+        monitor.sample();
+        assertTrue(monitor.isSaturated());
+    }
+
+    private void record(int count, Duration wait) {
+        for (int i = 0; i < count; i++) {
+            acquire.record(wait);
+        }
+    }
+}